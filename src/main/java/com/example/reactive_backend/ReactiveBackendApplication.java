@@ -2,12 +2,18 @@ package com.example.reactive_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class ReactiveBackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ReactiveBackendApplication.class, args);
+		SpringApplication application = new SpringApplication(ReactiveBackendApplication.class);
+		// Records every startup step so the time can be broken down by phase (logged at ready, and on /actuator/startup).
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,100 @@
+package com.example.reactive_backend.accesslog;
+
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every request (route, status, latency, response bytes, client) into the {@link AccessLogWriter} ring.
+ * Runs first so the latency covers the other filters too. The route is the matched handler pattern when there is
+ * one, the raw path otherwise; cancelled requests are logged with status 499. Errors that leave the chain are
+ * answered by the WebExceptionHandlers afterwards, so their status is taken from the exception the same way: the
+ * status of an {@link ErrorResponse} (such as a ResponseStatusException), 500 for anything else.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter implements WebFilter, Ordered {
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private final AccessLogWriter writer;
+    // Patterns are few, so their encoded form is kept; raw paths are encoded per request.
+    private final Map<String, byte[]> encodedRoutes = new ConcurrentHashMap<>();
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        CountingResponse response = new CountingResponse(exchange.getResponse());
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doOnError(err -> response.error = err)
+                .doFinally(signal -> record(exchange, response, signal, startMillis, startNanos));
+    }
+
+    private void record(ServerWebExchange exchange, CountingResponse response, SignalType signal, long startMillis, long startNanos) {
+        HttpStatusCode status = response.getStatusCode();
+        int code = signal == SignalType.CANCEL ? CLIENT_CLOSED_REQUEST
+                : signal == SignalType.ON_ERROR ? statusOf(response.error)
+                : status == null ? 200 : status.value();
+
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        byte[] route = pattern != null
+                ? encodedRoutes.computeIfAbsent(pattern.toString(), key -> key.getBytes(StandardCharsets.UTF_8))
+                : exchange.getRequest().getPath().value().getBytes(StandardCharsets.UTF_8);
+
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        byte[] address = remote == null || remote.getAddress() == null ? null : remote.getAddress().getAddress();
+
+        writer.offer(startMillis, (System.nanoTime() - startNanos) / 1_000, code, exchange.getRequest().getMethod().name(),
+                address, remote == null ? 0 : remote.getPort(), response.bytes, route);
+    }
+
+    private static int statusOf(Throwable error) {
+        return error instanceof ErrorResponse errorResponse ? errorResponse.getStatusCode().value() : 500;
+    }
+
+    private static class CountingResponse extends ServerHttpResponseDecorator {
+        private long bytes;
+        private Throwable error;
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes += buffer.readableByteCount()));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(chunk -> Flux.from(chunk).doOnNext(buffer -> bytes += buffer.readableByteCount())));
+        }
+    }
+}
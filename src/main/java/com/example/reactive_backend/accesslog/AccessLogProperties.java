@@ -0,0 +1,19 @@
+package com.example.reactive_backend.accesslog;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties("app.access-log")
+public class AccessLogProperties {
+    private boolean enabled = true;
+    private Path directory = Path.of("logs", "access");
+    // Each file is mapped at this size up front; the oldest file is deleted once there are more than max-files.
+    private DataSize fileSize = DataSize.ofMegabytes(64);
+    private int maxFiles = 8;
+    // Records waiting for the writer thread, rounded up to a power of two. Requests beyond it are counted, not logged.
+    private int bufferRecords = 65_536;
+}
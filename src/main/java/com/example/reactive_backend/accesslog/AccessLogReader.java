@@ -0,0 +1,67 @@
+package com.example.reactive_backend.accesslog;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes the binary access log. Used by {@code GET /api/admin/access-log} and runnable on its own against a
+ * directory or a single file: {@code java -cp <classpath> com.example.reactive_backend.accesslog.AccessLogReader
+ * [logs/access] [records]} prints the newest records (default 100) as text, oldest first.
+ */
+public final class AccessLogReader {
+
+    private AccessLogReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : "logs/access");
+        int limit = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        List<AccessLogRecord> records = Files.isDirectory(path) ? tail(path, limit) : lastOf(read(path), limit);
+        for(AccessLogRecord record : records) {
+            System.out.printf("%s %s %s %d %dus %dB %s%n", record.time(), record.client(), record.method(), record.status(),
+                    record.latencyMicros(), record.responseBytes(), record.route());
+        }
+    }
+
+    // The newest records across the rotated files of a directory, oldest first.
+    public static List<AccessLogRecord> tail(Path directory, int limit) throws IOException {
+        ArrayDeque<AccessLogRecord> newest = new ArrayDeque<>();
+        List<Path> files = new ArrayList<>(AccessLogWriter.files(directory));
+        Collections.reverse(files);
+
+        for(Path file : files) {
+            List<AccessLogRecord> records = read(file);
+            for(int i = records.size() - 1; i >= 0 && newest.size() < limit; i--) newest.addFirst(records.get(i));
+            if(newest.size() >= limit) break;
+        }
+        return List.copyOf(newest);
+    }
+
+    public static List<AccessLogRecord> read(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            AccessLogWriter.checkHeader(buffer, file);
+
+            List<AccessLogRecord> records = new ArrayList<>();
+            for(int offset = AccessLogWriter.HEADER_BYTES; offset + AccessLogRecord.SIZE <= buffer.capacity(); offset += AccessLogRecord.SIZE) {
+                AccessLogRecord record = AccessLogRecord.decode(buffer, offset);
+                if(record == null) break;
+                records.add(record);
+            }
+            return records;
+        }
+    }
+
+    private static List<AccessLogRecord> lastOf(List<AccessLogRecord> records, int limit) {
+        return records.subList(Math.max(0, records.size() - limit), records.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.reactive_backend.accesslog;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * One access log entry and its fixed 128 byte binary layout (big-endian):
+ * <pre>
+ *   0  long   request start, epoch millis (0 marks unused space at the end of a file)
+ *   8  int    latency, micros
+ *  12  short  status
+ *  14  byte   method index in {@link #METHODS}
+ *  15  byte   client address length, 4 or 16 (0 when unknown)
+ *  16  long   response body bytes
+ *  24  byte[16] client address
+ *  40  short  client port
+ *  42  byte   route length
+ *  43  byte[85] route, UTF-8, truncated
+ * </pre>
+ */
+public record AccessLogRecord(Instant time, String method, String route, int status, long latencyMicros,
+                              long responseBytes, String client) {
+    public static final int SIZE = 128;
+    static final String[] METHODS = {"GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE", "OTHER"};
+    private static final int ROUTE_OFFSET = 43;
+    private static final int MAX_ROUTE_BYTES = SIZE - ROUTE_OFFSET;
+
+    // Writes straight into the slot at offset; the caller makes sure nobody else touches it meanwhile.
+    static void encode(ByteBuffer target, int offset, long startMillis, long latencyMicros, int status, String method,
+                       byte[] address, int port, long responseBytes, byte[] route) {
+        target.putLong(offset, startMillis);
+        target.putInt(offset + 8, (int) Math.min(Integer.MAX_VALUE, latencyMicros));
+        target.putShort(offset + 12, (short) status);
+        target.put(offset + 14, (byte) methodIndex(method));
+        int addressLength = address == null ? 0 : address.length;
+        target.put(offset + 15, (byte) addressLength);
+        target.putLong(offset + 16, responseBytes);
+        for(int i = 0; i < 16; i++) target.put(offset + 24 + i, i < addressLength ? address[i] : 0);
+        target.putShort(offset + 40, (short) port);
+        int routeLength = Math.min(route.length, MAX_ROUTE_BYTES);
+        target.put(offset + 42, (byte) routeLength);
+        target.put(offset + ROUTE_OFFSET, route, 0, routeLength);
+    }
+
+    // Null for unused space.
+    static AccessLogRecord decode(ByteBuffer source, int offset) {
+        long startMillis = source.getLong(offset);
+        if(startMillis == 0) return null;
+
+        int addressLength = source.get(offset + 15);
+        byte[] route = new byte[Byte.toUnsignedInt(source.get(offset + 42))];
+        source.get(offset + ROUTE_OFFSET, route);
+
+        return new AccessLogRecord(
+                Instant.ofEpochMilli(startMillis),
+                METHODS[Math.min(source.get(offset + 14), METHODS.length - 1)],
+                new String(route, StandardCharsets.UTF_8),
+                Short.toUnsignedInt(source.getShort(offset + 12)),
+                Integer.toUnsignedLong(source.getInt(offset + 8)),
+                source.getLong(offset + 16),
+                client(source, offset, addressLength));
+    }
+
+    private static String client(ByteBuffer source, int offset, int addressLength) {
+        if(addressLength != 4 && addressLength != 16) return "unknown";
+
+        byte[] address = new byte[addressLength];
+        source.get(offset + 24, address);
+        try {
+            return InetAddress.getByAddress(address).getHostAddress() + ":" + Short.toUnsignedInt(source.getShort(offset + 40));
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    private static int methodIndex(String method) {
+        int index = Arrays.asList(METHODS).indexOf(method);
+        return index < 0 ? METHODS.length - 1 : index;
+    }
+}
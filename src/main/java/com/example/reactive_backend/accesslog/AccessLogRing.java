@@ -0,0 +1,72 @@
+package com.example.reactive_backend.accesslog;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded multi-producer, single-consumer ring of fixed size records in one direct buffer. Producers claim a
+ * sequence with CAS, write their slot and publish it by storing the sequence in the slot's marker; the consumer
+ * only reads slots whose marker matches, so a slow producer never exposes a half-written record. When the ring
+ * is full the record is dropped and counted rather than blocking the request.
+ */
+class AccessLogRing {
+    private final int mask;
+    private final ByteBuffer slots;
+    private final AtomicLongArray published;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    AccessLogRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = ByteBuffer.allocateDirect(size * AccessLogRecord.SIZE);
+        this.published = new AtomicLongArray(size);
+        for(int i = 0; i < size; i++) published.set(i, -1);
+    }
+
+    boolean offer(long startMillis, long latencyMicros, int status, String method, byte[] address, int port, long responseBytes, byte[] route) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if(sequence - head.get() > mask) {
+                dropped.increment();
+                return false;
+            }
+        } while(!tail.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & mask);
+        AccessLogRecord.encode(slots, slot * AccessLogRecord.SIZE, startMillis, latencyMicros, status, method, address, port, responseBytes, route);
+        published.lazySet(slot, sequence);
+        return true;
+    }
+
+    // Copies up to max published records into target at its position; returns how many were copied.
+    int drainTo(ByteBuffer target, int max) {
+        long next = head.get();
+        int copied = 0;
+
+        while(copied < max) {
+            int slot = (int) (next & mask);
+            if(published.get(slot) != next) break;
+
+            target.put(target.position(), slots, slot * AccessLogRecord.SIZE, AccessLogRecord.SIZE);
+            target.position(target.position() + AccessLogRecord.SIZE);
+            next++;
+            copied++;
+        }
+
+        if(copied > 0) head.lazySet(next);
+        return copied;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long pending() {
+        return tail.get() - head.get();
+    }
+}
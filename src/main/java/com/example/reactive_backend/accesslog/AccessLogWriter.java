@@ -0,0 +1,150 @@
+package com.example.reactive_backend.accesslog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Moves access log records from the in-memory ring into memory-mapped files on a single background thread, so
+ * requests only pay for filling a slot. Files are named {@code access-<epoch millis>.bin}, start with a
+ * {@link #HEADER_BYTES} header (magic, format, record size) and are mapped at app.access-log.file-size; when one
+ * is full the next is created and the oldest beyond app.access-log.max-files is deleted.
+ * <p>
+ * Metrics: {@code access.log.dropped} (ring was full) and {@code access.log.pending}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogWriter implements MeterBinder {
+    static final int MAGIC = 0x41434C47;
+    static final int FORMAT = 1;
+    static final int HEADER_BYTES = AccessLogRecord.SIZE;
+    private static final int DRAIN_BATCH = 1_024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final AccessLogProperties properties;
+    private final AccessLogRing ring;
+    private final long recordsPerFile;
+
+    private volatile boolean running;
+    private Thread thread;
+    private MappedByteBuffer file;
+
+    public AccessLogWriter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.ring = new AccessLogRing(properties.getBufferRecords());
+        this.recordsPerFile = (properties.getFileSize().toBytes() - HEADER_BYTES) / AccessLogRecord.SIZE;
+    }
+
+    public boolean offer(long startMillis, long latencyMicros, int status, String method, byte[] address, int port, long responseBytes, byte[] route) {
+        return ring.offer(startMillis, latencyMicros, status, method, address, port, responseBytes, route);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if(running) return;
+
+        running = true;
+        thread = new Thread(this::drainLoop, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Writing the binary access log to %s".formatted(properties.getDirectory().toAbsolutePath()));
+    }
+
+    // Runs after the web server has finished its graceful shutdown, so the last requests are in the ring.
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if(!running) return;
+
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("access.log.dropped", ring, AccessLogRing::dropped).register(registry);
+        Gauge.builder("access.log.pending", ring, AccessLogRing::pending).register(registry);
+    }
+
+    private void drainLoop() {
+        try {
+            while(running || ring.pending() > 0) {
+                if(file == null || !file.hasRemaining()) rotate();
+
+                int room = file.remaining() / AccessLogRecord.SIZE;
+                if(ring.drainTo(file, Math.min(room, DRAIN_BATCH)) == 0) {
+                    if(!running) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            if(file != null) file.force();
+        } catch (RuntimeException e) {
+            log.error("The access log writer stopped: %s".formatted(e.toString()));
+        }
+    }
+
+    private void rotate() {
+        try {
+            if(file != null) file.force();
+            Files.createDirectories(properties.getDirectory());
+
+            // Names must sort in write order even when files fill up within the same millisecond.
+            List<Path> existing = files(properties.getDirectory());
+            long previous = existing.isEmpty() ? 0 : startedAt(existing.get(existing.size() - 1));
+            Path next = properties.getDirectory().resolve("access-%d.bin".formatted(Math.max(System.currentTimeMillis(), previous + 1)));
+            try(FileChannel channel = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                file = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + recordsPerFile * AccessLogRecord.SIZE);
+            }
+            file.putInt(MAGIC).putInt(FORMAT).putInt(AccessLogRecord.SIZE);
+            file.position(HEADER_BYTES);
+
+            List<Path> files = files(properties.getDirectory());
+            for(int i = 0; i < files.size() - properties.getMaxFiles(); i++) Files.deleteIfExists(files.get(i));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Oldest first.
+    static List<Path> files(Path directory) throws IOException {
+        if(!Files.isDirectory(directory)) return List.of();
+
+        try(Stream<Path> entries = Files.list(directory)) {
+            return entries.filter(path -> path.getFileName().toString().matches("access-\\d+\\.bin"))
+                    .sorted((a, b) -> Long.compare(startedAt(a), startedAt(b)))
+                    .toList();
+        }
+    }
+
+    private static long startedAt(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("access-".length(), name.length() - ".bin".length()));
+    }
+
+    static void checkHeader(ByteBuffer header, Path file) {
+        if(header.getInt(0) != MAGIC || header.getInt(4) != FORMAT || header.getInt(8) != AccessLogRecord.SIZE) {
+            throw new IllegalStateException("%s is not an access log file of format %d".formatted(file, FORMAT));
+        }
+    }
+}
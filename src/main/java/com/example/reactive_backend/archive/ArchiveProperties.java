@@ -0,0 +1,18 @@
+package com.example.reactive_backend.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.archive")
+public class ArchiveProperties {
+    private boolean enabled = false;
+    // Tasks completed longer ago than this are moved to 'tasks_archive'.
+    private Duration completedFor = Duration.ofDays(30);
+    private Duration interval = Duration.ofHours(1);
+    private int batchSize = 500;
+    // Caps the work of a single run; whatever is left is picked up by the next one.
+    private int maxBatchesPerRun = 200;
+}
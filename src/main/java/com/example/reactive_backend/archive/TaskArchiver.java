@@ -0,0 +1,135 @@
+package com.example.reactive_backend.archive;
+
+import com.example.reactive_backend.cache.TaskResponseCache;
+import com.example.reactive_backend.config.StorageProperties;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.repository.MongoTaskRepository;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Moves Tasks completed for longer than app.archive.completed-for from 'tasks' to 'tasks_archive' in batches,
+ * keeping the hot collection and its indexes small. Each batch is upserted into the archive first and only then
+ * removed from 'tasks', so a failure in between leaves a Task in both collections, never in neither; the next
+ * run finishes the move. Completed Tasks without a completedAt (written before it was recorded) are stamped with
+ * the time of the run first, so they become due a full completed-for period later instead of never.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class TaskArchiver {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ArchiveProperties properties;
+    private final StorageProperties storage;
+    private final TaskResponseCache taskResponseCache;
+
+    private Disposable schedule;
+
+    // The partial index only holds completed Tasks, so it stays small next to the rest of 'tasks'.
+    public static Mono<Void> ensureIndexes(ReactiveMongoTemplate mongoTemplate) {
+        return Flux.concat(
+                        mongoTemplate.indexOps(Task.class).ensureIndex(new Index().on("completedAt", Sort.Direction.ASC)
+                                .partial(PartialIndexFilter.of(Criteria.where("completed").is(true)))),
+                        mongoTemplate.indexOps(MongoTaskRepository.ARCHIVE_COLLECTION).ensureIndex(new Index().on("userId", Sort.Direction.ASC)))
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if(storage.getEngine() != StorageProperties.Engine.MONGO || storage.getLayout() != StorageProperties.Layout.DOCUMENT) {
+            log.warn("Task archiving is only available for the Mongo document storage layout, the archiver stays off.");
+            return;
+        }
+
+        schedule = Flux.interval(properties.getInterval(), properties.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> archive()
+                        .onErrorResume(err -> {
+                            log.error("Archiving run failed, retrying at the next interval: %s".formatted(err.toString()));
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if(schedule != null) schedule.dispose();
+    }
+
+    public Mono<Long> archive() {
+        return Mono.defer(() -> {
+            Date cutoff = Date.from(Instant.now().minus(properties.getCompletedFor()));
+
+            return backfillCompletedAt()
+                    .thenMany(Flux.range(0, properties.getMaxBatchesPerRun()))
+                    .concatMap(batch -> archiveBatch(cutoff))
+                    .takeUntil(moved -> moved < properties.getBatchSize())
+                    .reduce(0L, Long::sum)
+                    .doOnSubscribe(sub -> log.info("Archiving Tasks completed before %s".formatted(cutoff.toInstant())))
+                    .doOnSuccess(moved -> log.info("Archived %d Tasks".formatted(moved)));
+        });
+    }
+
+    // An equality match on null also finds missing fields, and the partial completedAt index covers it.
+    public Mono<Long> backfillCompletedAt() {
+        Query missing = new Query(Criteria.where("completed").is(true).and("completedAt").is(null));
+
+        return mongoTemplate.updateMulti(missing, new Update().set("completedAt", Date.from(Instant.now())), Task.class)
+                .map(UpdateResult::getModifiedCount)
+                .doOnNext(stamped -> {
+                    if(stamped > 0) log.info("Stamped completedAt on %d completed Tasks that had none".formatted(stamped));
+                });
+    }
+
+    private Mono<Long> archiveBatch(Date cutoff) {
+        Query due = new Query(Criteria.where("completed").is(true).and("completedAt").lt(cutoff))
+                .limit(properties.getBatchSize());
+
+        return mongoTemplate.find(due, Document.class, mongoTemplate.getCollectionName(Task.class))
+                .collectList()
+                .flatMap(tasks -> tasks.isEmpty() ? Mono.just(0L) : move(tasks, cutoff));
+    }
+
+    private Mono<Long> move(List<Document> tasks, Date cutoff) {
+        List<ObjectId> ids = tasks.stream().map(task -> task.getObjectId("_id")).toList();
+        List<ReplaceOneModel<Document>> upserts = tasks.stream()
+                .map(task -> new ReplaceOneModel<>(Filters.eq("_id", task.getObjectId("_id")), task, new ReplaceOptions().upsert(true)))
+                .toList();
+
+        // Re-checking the condition on removal keeps a Task that was reopened meanwhile in 'tasks'.
+        Query archived = new Query(Criteria.where("_id").in(ids).and("completed").is(true).and("completedAt").lt(cutoff));
+
+        return mongoTemplate.getCollection(MongoTaskRepository.ARCHIVE_COLLECTION)
+                .flatMap(archive -> Mono.from(archive.bulkWrite(upserts, new BulkWriteOptions().ordered(false))))
+                .then(mongoTemplate.remove(archived, Task.class))
+                .doOnSuccess(removed -> ids.forEach(taskResponseCache::invalidate))
+                .thenReturn((long) tasks.size());
+    }
+}
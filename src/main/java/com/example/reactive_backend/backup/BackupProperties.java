@@ -0,0 +1,17 @@
+package com.example.reactive_backend.backup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties("app.backup")
+public class BackupProperties {
+    // Exports are written here and imports are only read from here.
+    private Path directory = Path.of("backups");
+    // Compressed bytes collected before a buffer is handed to the file channel.
+    private DataSize chunkSize = DataSize.ofKilobytes(64);
+    private int importBatchSize = 1_000;
+}
@@ -0,0 +1,199 @@
+package com.example.reactive_backend.backup;
+
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.existence.ExistenceFilter;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.model.UserAccount;
+import com.example.reactive_backend.repository.MongoTaskRepository;
+import com.example.reactive_backend.repository.TaskRepository;
+import com.example.reactive_backend.repository.UserAccountRepository;
+import com.example.reactive_backend.service.UserAccountService;
+import io.netty.buffer.PooledByteBufAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Exports the Tasks, the archived Tasks and the User Accounts to gzip compressed NDJSON (one relaxed Extended JSON
+ * document per line, so ObjectIds and dates survive the round trip) and imports such files again. Both directions
+ * go through the storage ports, so every engine and layout is covered, and both stream: the export writes pooled
+ * buffers to an asynchronous file channel as the repository delivers entities, the import inserts one batch at a
+ * time while reading the next lines, so memory use does not grow with the file.
+ */
+@Slf4j
+@Service
+public class BackupService {
+    private static final String GZIP_EXTENSION = ".ndjson.gz";
+    private static final int LINES_PER_WRITE = 64;
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS").withZone(ZoneOffset.UTC);
+    // User Accounts are restored one by one through the service, this many at a time.
+    private static final int USER_ACCOUNT_CONCURRENCY = 16;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TaskRepository taskRepository;
+    private final UserAccountRepository userAccountRepository;
+    private final UserAccountService userAccountService;
+    private final BackupProperties properties;
+    private final ExistenceFilter existenceFilter;
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    public BackupService(ReactiveMongoTemplate mongoTemplate, TaskRepository taskRepository, UserAccountRepository userAccountRepository,
+                         UserAccountService userAccountService, BackupProperties properties, ExistenceFilter existenceFilter) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskRepository = taskRepository;
+        this.userAccountRepository = userAccountRepository;
+        this.userAccountService = userAccountService;
+        this.properties = properties;
+        this.existenceFilter = existenceFilter;
+    }
+
+    public record ExportResult(String file, long documents, long bytes) {
+    }
+
+    public record ImportProgress(String file, long imported, boolean done) {
+    }
+
+    public Flux<ExportResult> exportAll() {
+        // Two exports within the same millisecond still get their own files thanks to the random part.
+        String suffix = FILE_TIMESTAMP.format(Instant.now()) + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+        return Flux.concat(
+                export(mongoTemplate.getCollectionName(Task.class), suffix, taskRepository.getAllTasks()),
+                export(MongoTaskRepository.ARCHIVE_COLLECTION, suffix, taskRepository.getAllArchivedTasks()),
+                export(mongoTemplate.getCollectionName(UserAccount.class), suffix, userAccountRepository.getAllUserAccounts()));
+    }
+
+    public Flux<ImportProgress> importFile(String fileName) {
+        Path file = resolve(fileName);
+        if(!Files.isRegularFile(file)) return Flux.error(new BadRequestException("There is no backup file named: %s".formatted(fileName)));
+
+        String collection = fileName.substring(0, fileName.indexOf('-') > 0 ? fileName.indexOf('-') : 0);
+        String tasks = mongoTemplate.getCollectionName(Task.class);
+        String archive = MongoTaskRepository.ARCHIVE_COLLECTION;
+        String userAccounts = mongoTemplate.getCollectionName(UserAccount.class);
+        Function<List<Document>, Mono<Long>> insert;
+        if(collection.equals(tasks)) insert = this::insertTasks;
+        else if(collection.equals(archive)) insert = this::insertArchivedTasks;
+        else if(collection.equals(userAccounts)) insert = this::insertUserAccounts;
+        else return Flux.error(new BadRequestException("Backup files must be named '%s-...', '%s-...' or '%s-...', got: %s".formatted(tasks, archive, userAccounts, fileName)));
+
+        AtomicLong imported = new AtomicLong();
+        return readLines(file)
+                .map(Document::parse)
+                .buffer(properties.getImportBatchSize())
+                .concatMap(insert)
+                .map(inserted -> new ImportProgress(fileName, imported.addAndGet(inserted), false))
+                .doOnNext(progress -> log.info("Imported %d documents from %s".formatted(progress.imported(), fileName)))
+                .concatWith(Mono.fromSupplier(() -> new ImportProgress(fileName, imported.get(), true)))
+                .doOnSubscribe(sub -> log.info("Importing %s into '%s'".formatted(fileName, collection)))
+                .doOnError(err -> log.error("Import of %s stopped after %d documents: %s".formatted(fileName, imported.get(), err.toString())));
+    }
+
+    private Mono<ExportResult> export(String collection, String suffix, Flux<?> entities) {
+        String fileName = collection + "-" + suffix + GZIP_EXTENSION;
+        Path file = resolve(fileName);
+        int chunkSize = Math.toIntExact(properties.getChunkSize().toBytes());
+        AtomicLong documents = new AtomicLong();
+
+        Flux<String> lines = entities
+                .doOnNext(entity -> documents.incrementAndGet())
+                .map(entity -> {
+                    Document document = new Document();
+                    mongoTemplate.getConverter().write(entity, document);
+                    return document.toJson(JSON_SETTINGS);
+                });
+
+        Flux<DataBuffer> compressed = Flux.using(
+                () -> new GzipChunker(bufferFactory, chunkSize),
+                chunker -> lines.buffer(LINES_PER_WRITE)
+                        .mapNotNull(chunker::write)
+                        .concatWith(Mono.fromSupplier(chunker::finish)),
+                GzipChunker::close);
+
+        return Mono.fromCallable(() -> Files.createDirectories(properties.getDirectory()))
+                .then(DataBufferUtils.write(compressed, file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+                .then(Mono.fromCallable(() -> new ExportResult(fileName, documents.get(), Files.size(file))))
+                .doOnSubscribe(sub -> log.info("Exporting '%s' to %s".formatted(collection, file)))
+                .doOnSuccess(result -> log.info("Exported %d documents from '%s' into %s (%d bytes)".formatted(result.documents(), collection, fileName, result.bytes())))
+                .doOnError(err -> log.error("Export of '%s' failed: %s".formatted(collection, err.toString())))
+                .onErrorMap(err -> new DatabaseException("Export of '%s' failed.".formatted(collection), err));
+    }
+
+    // Inflating is blocking work either way, so the file is read through a buffered stream on a worker thread;
+    // lines are only pulled as fast as the inserts downstream request them.
+    private Flux<String> readLines(Path file) {
+        int chunkSize = Math.toIntExact(properties.getChunkSize().toBytes());
+
+        return Flux.using(
+                        () -> new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file), chunkSize), StandardCharsets.UTF_8), chunkSize),
+                        reader -> Flux.fromStream(reader.lines()).filter(line -> !line.isBlank()),
+                        reader -> {
+                            try {
+                                reader.close();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Long> insertTasks(List<Document> batch) {
+        return taskRepository.createTasks(readAll(Task.class, batch))
+                .doOnNext(task -> existenceFilter.record(ExistenceFilter.Kind.TASK, task.getId()))
+                .count();
+    }
+
+    private Mono<Long> insertArchivedTasks(List<Document> batch) {
+        return taskRepository.createArchivedTasks(readAll(Task.class, batch)).count();
+    }
+
+    // Through the service so emails are normalized and the email caches learn about the restored accounts.
+    private Mono<Long> insertUserAccounts(List<Document> batch) {
+        return Flux.fromIterable(readAll(UserAccount.class, batch))
+                .flatMap(userAccountService::restoreUserAccount, USER_ACCOUNT_CONCURRENCY)
+                .count();
+    }
+
+    private <T> ArrayList<T> readAll(Class<T> type, List<Document> batch) {
+        ArrayList<T> entities = new ArrayList<>(batch.size());
+        for(Document document : batch) entities.add(mongoTemplate.getConverter().read(type, document));
+        return entities;
+    }
+
+    private Path resolve(String fileName) {
+        Path directory = properties.getDirectory().toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if(!file.getParent().equals(directory)) throw new BadRequestException("Backup files must be plain file names inside the backup directory.");
+        return file;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.reactive_backend.backup;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Incremental gzip over a stream of lines. Each {@link #write} returns whatever compressed output the deflater
+ * produced so far (often nothing), copied into a buffer from the given factory, so only about one chunk of
+ * compressed data is ever held here. Not thread-safe; meant to be driven by a single sequential Flux.
+ */
+class GzipChunker implements AutoCloseable {
+    private final DataBufferFactory bufferFactory;
+    private final ByteArrayOutputStream compressed;
+    private final GZIPOutputStream gzip;
+
+    GzipChunker(DataBufferFactory bufferFactory, int chunkSize) {
+        this.bufferFactory = bufferFactory;
+        this.compressed = new ByteArrayOutputStream(chunkSize);
+        try {
+            this.gzip = new GZIPOutputStream(compressed, chunkSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    DataBuffer write(List<String> lines) {
+        try {
+            for(String line : lines) {
+                gzip.write(line.getBytes(StandardCharsets.UTF_8));
+                gzip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return drain();
+    }
+
+    DataBuffer finish() {
+        try {
+            gzip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return drain();
+    }
+
+    private DataBuffer drain() {
+        if(compressed.size() == 0) return null;
+
+        DataBuffer buffer = bufferFactory.allocateBuffer(compressed.size());
+        try {
+            compressed.writeTo(buffer.asOutputStream());
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        }
+        compressed.reset();
+        return buffer;
+    }
+
+    @Override
+    public void close() {
+        try {
+            gzip.close();
+        } catch (IOException ignored) {
+            // Nothing was left to write anywhere but memory.
+        }
+    }
+}
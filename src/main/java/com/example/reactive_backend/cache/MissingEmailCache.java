@@ -0,0 +1,94 @@
+package com.example.reactive_backend.cache;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Remembers emails that recently had no User Account, so repeated checks for them (most signup checks) are
+ * answered without a round trip to Mongo. Entries expire after a short TTL and are dropped as soon as this
+ * instance creates an account with that email.
+ */
+@Component
+public class MissingEmailCache {
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    // Email -> expiry time in millis, oldest first.
+    private final LinkedHashMap<String, Long> missing = new LinkedHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public MissingEmailCache(MissingEmailCacheProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    MissingEmailCache(MissingEmailCacheProperties properties, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.maxEntries = properties.getMaxEntries();
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.clock = clock;
+    }
+
+    // Completes empty without calling the loader when the email is known to be missing.
+    public <T> Mono<T> lookup(String email, Supplier<Mono<T>> loader) {
+        if(!enabled) return loader.get();
+        if(isKnownMissing(email)) return Mono.empty();
+
+        // A miss read before an account was created must not be remembered after it.
+        long seenGeneration = generation.get();
+
+        return loader.get()
+                .switchIfEmpty(Mono.fromRunnable(() -> recordMissing(email, seenGeneration)));
+    }
+
+    public void forget(String email) {
+        if(email == null) return;
+        generation.incrementAndGet();
+
+        synchronized (missing) {
+            missing.remove(email);
+        }
+    }
+
+    public int size() {
+        synchronized (missing) {
+            return missing.size();
+        }
+    }
+
+    private boolean isKnownMissing(String email) {
+        long now = clock.millis();
+
+        synchronized (missing) {
+            Long expiresAt = missing.get(email);
+            if(expiresAt == null) return false;
+            if(expiresAt > now) return true;
+
+            missing.remove(email);
+            return false;
+        }
+    }
+
+    private void recordMissing(String email, long seenGeneration) {
+        long now = clock.millis();
+
+        synchronized (missing) {
+            if(generation.get() != seenGeneration) return;
+
+            Iterator<Map.Entry<String, Long>> eldest = missing.entrySet().iterator();
+            while(eldest.hasNext() && eldest.next().getValue() <= now) eldest.remove();
+
+            missing.remove(email);
+            missing.put(email, now + ttlMillis);
+            if(missing.size() > maxEntries) missing.remove(missing.keySet().iterator().next());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.reactive_backend.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.cache.missing-email")
+public class MissingEmailCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    // Bounds how long an account created through another instance can stay invisible to this one.
+    private Duration ttl = Duration.ofSeconds(30);
+}
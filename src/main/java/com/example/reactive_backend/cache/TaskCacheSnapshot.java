@@ -0,0 +1,184 @@
+package com.example.reactive_backend.cache;
+
+import com.example.reactive_backend.config.StorageProperties;
+import com.example.reactive_backend.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists the hottest entries of the {@link TaskResponseCache} to a memory-mapped file when the context closes and
+ * loads them back before the next start reports ready. Every entry carries the Task version it was serialized from;
+ * on load only entries whose version still matches the stored document are put back.
+ * <p>
+ * File layout (big-endian): magic, format, created-at millis, entry count, then per entry the 12 id bytes,
+ * the version, the body length and the JSON body.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache.task-response.snapshot", name = "enabled", havingValue = "true")
+public class TaskCacheSnapshot implements ApplicationRunner {
+    private static final int MAGIC = 0x54524353;
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+    private static final int ENTRY_HEADER_BYTES = 12 + Long.BYTES + Integer.BYTES;
+    private static final int VERSION_LOOKUP_BATCH = 1_000;
+
+    private final TaskResponseCache cache;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TaskResponseCacheProperties.Snapshot properties;
+    private final StorageProperties storage;
+
+    public TaskCacheSnapshot(TaskResponseCache cache, ReactiveMongoTemplate mongoTemplate,
+                             TaskResponseCacheProperties properties, StorageProperties storage) {
+        this.cache = cache;
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties.getSnapshot();
+        this.storage = storage;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void save() {
+        List<TaskResponseCache.SnapshotEntry> hottest = cache.hottest(properties.getMaxEntries());
+        try {
+            write(properties.getFile(), hottest, Instant.now());
+            log.info("Wrote %d cache entries to %s".formatted(hottest.size(), properties.getFile()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write the cache snapshot %s: %s".formatted(properties.getFile(), e.toString()));
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path file = properties.getFile();
+        if(!Files.isRegularFile(file)) return;
+        if(storage.getEngine() != StorageProperties.Engine.MONGO || storage.getLayout() != StorageProperties.Layout.DOCUMENT) {
+            log.info("Skipping the cache snapshot, versions can only be checked against the Mongo document layout.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Snapshot snapshot = read(file);
+            if(Duration.between(snapshot.createdAt(), Instant.now()).compareTo(properties.getMaxAge()) > 0) {
+                log.info("Cache snapshot %s from %s is too old, ignoring it.".formatted(file, snapshot.createdAt()));
+                return;
+            }
+
+            // Taken before the versions are read: a write landing while they are read makes the restores below fail.
+            long seenGeneration = cache.generation();
+            Map<ObjectId, Long> current = currentVersions(snapshot.entries());
+            int restored = 0;
+            // Coldest first, so the hottest entries end up as the most recently used ones.
+            for(int i = snapshot.entries().size() - 1; i >= 0; i--) {
+                TaskResponseCache.SnapshotEntry entry = snapshot.entries().get(i);
+                Long version = current.get(entry.id());
+                if(version != null && version == entry.version() && cache.restore(entry, seenGeneration)) restored++;
+            }
+
+            log.info("Restored %d of %d cache entries from %s in %d ms".formatted(restored, snapshot.entries().size(), file, (System.nanoTime() - start) / 1_000_000));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load the cache snapshot %s, starting cold: %s".formatted(file, e.toString()));
+        }
+    }
+
+    // Deleted Tasks are simply missing from the result; Tasks stored without a version map to NO_VERSION.
+    private Map<ObjectId, Long> currentVersions(List<TaskResponseCache.SnapshotEntry> entries) {
+        List<ObjectId> ids = entries.stream().map(TaskResponseCache.SnapshotEntry::id).toList();
+        Map<ObjectId, Long> versions = new HashMap<>(ids.size() * 2);
+
+        Flux.fromIterable(ids)
+                .buffer(VERSION_LOOKUP_BATCH)
+                .concatMap(batch -> {
+                    Query query = new Query(Criteria.where("_id").in(batch));
+                    query.fields().include("version");
+                    return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Task.class));
+                })
+                .doOnNext(document -> {
+                    Number version = document.get("version", Number.class);
+                    versions.put(document.getObjectId("_id"), version == null ? TaskResponseCache.NO_VERSION : version.longValue());
+                })
+                .then()
+                .block(properties.getLoadTimeout());
+
+        return versions;
+    }
+
+    record Snapshot(Instant createdAt, List<TaskResponseCache.SnapshotEntry> entries) {
+    }
+
+    static void write(Path file, List<TaskResponseCache.SnapshotEntry> entries, Instant createdAt) throws IOException {
+        long size = HEADER_BYTES;
+        for(TaskResponseCache.SnapshotEntry entry : entries) size += ENTRY_HEADER_BYTES + entry.body().remaining();
+        if(size > Integer.MAX_VALUE) throw new IOException("Snapshot of %d bytes does not fit a single mapping".formatted(size));
+
+        if(file.toAbsolutePath().getParent() != null) Files.createDirectories(file.toAbsolutePath().getParent());
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+
+        try(FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mapped.putInt(MAGIC).putInt(FORMAT).putLong(createdAt.toEpochMilli()).putInt(entries.size());
+            for(TaskResponseCache.SnapshotEntry entry : entries) {
+                mapped.put(entry.id().toByteArray())
+                        .putLong(entry.version())
+                        .putInt(entry.body().remaining())
+                        .put(entry.body().duplicate());
+            }
+            mapped.force();
+        }
+
+        // A crash mid-write leaves the .partial file behind, never a truncated snapshot.
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Entry bodies are views into the mapping; they stay valid after the channel is closed.
+    static Snapshot read(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if(mapped.remaining() < HEADER_BYTES || mapped.getInt() != MAGIC || mapped.getInt() != FORMAT) {
+            throw new IOException("%s is not a task cache snapshot".formatted(file));
+        }
+        Instant createdAt = Instant.ofEpochMilli(mapped.getLong());
+        int count = mapped.getInt();
+
+        List<TaskResponseCache.SnapshotEntry> entries = new ArrayList<>(count);
+        byte[] id = new byte[12];
+        for(int i = 0; i < count; i++) {
+            mapped.get(id);
+            long version = mapped.getLong();
+            int length = mapped.getInt();
+            ByteBuffer body = mapped.slice(mapped.position(), length).asReadOnlyBuffer();
+            mapped.position(mapped.position() + length);
+            entries.add(new TaskResponseCache.SnapshotEntry(new ObjectId(id), version, body));
+        }
+        return new Snapshot(createdAt, entries);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.reactive_backend.cache;
+
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived Task counts, so dashboards polling totals and per-user pending counts do not run a count per
+ * request. Task writes in this instance drop the counts they can change: the writer's user and every count
+ * that is not scoped to a user.
+ */
+@Component
+public class TaskCountCache {
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<Key, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    // Absent filters are null; all of them null is the collection total.
+    public record Key(ObjectId userId, Boolean completed, String titlePrefix) {
+    }
+
+    private record Entry(long count, long expiresAt) {
+    }
+
+    public TaskCountCache(TaskCountCacheProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    TaskCountCache(TaskCountCacheProperties properties, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.maxEntries = properties.getMaxEntries();
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.clock = clock;
+    }
+
+    public Mono<Long> get(Key key, Supplier<Mono<Long>> loader) {
+        if(!enabled) return loader.get();
+
+        Entry entry = counts.get(key);
+        if(entry != null && entry.expiresAt() > clock.millis()) return Mono.just(entry.count());
+
+        // A count read before a write must not be remembered after the write invalidated it.
+        long seenGeneration = generation.get();
+
+        return loader.get()
+                .doOnNext(count -> store(key, count, seenGeneration));
+    }
+
+    public void invalidate(ObjectId userId) {
+        generation.incrementAndGet();
+        counts.keySet().removeIf(key -> key.userId() == null || key.userId().equals(userId));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    private void store(Key key, long count, long seenGeneration) {
+        long now = clock.millis();
+        if(counts.size() >= maxEntries) counts.values().removeIf(entry -> entry.expiresAt() <= now);
+        if(counts.size() >= maxEntries) return;
+
+        counts.put(key, new Entry(count, now + ttlMillis));
+        // Lost a race with an invalidation that ran after the read began.
+        if(generation.get() != seenGeneration) counts.remove(key);
+    }
+}
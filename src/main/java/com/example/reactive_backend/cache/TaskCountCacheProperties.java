@@ -0,0 +1,15 @@
+package com.example.reactive_backend.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.cache.task-count")
+public class TaskCountCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    // Writes through this instance invalidate right away; this bounds how stale counts changed elsewhere can be.
+    private Duration ttl = Duration.ofSeconds(5);
+}
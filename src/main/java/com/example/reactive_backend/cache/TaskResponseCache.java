@@ -0,0 +1,167 @@
+package com.example.reactive_backend.cache;
+
+import com.example.reactive_backend.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the serialized JSON of recently read tasks in direct (off-heap) buffers so a hit can be
+ * handed to Netty as-is, without going through Mongo or Jackson. Entries are evicted least recently
+ * used first once the configured size is exceeded.
+ */
+@Slf4j
+@Component
+public class TaskResponseCache {
+    // Stands in for the version of Tasks stored before versioning was introduced.
+    public static final long NO_VERSION = -1L;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    private final LinkedHashMap<ObjectId, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private long usedBytes;
+
+    public TaskResponseCache(ObjectMapper objectMapper, TaskResponseCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.maxEntryBytes = properties.getMaxEntrySize().toBytes();
+    }
+
+    public Mono<DataBuffer> getOrLoad(ObjectId id, Supplier<Mono<Task>> loader, DataBufferFactory bufferFactory) {
+        ByteBuffer cached = get(id);
+        if(cached != null) return Mono.just(bufferFactory.wrap(cached));
+
+        // Anything invalidated after this point must not be cached from a read that started before it.
+        long seenGeneration = generation.get();
+
+        return loader.get()
+                .handle((task, sink) -> {
+                    try {
+                        byte[] json = objectMapper.writeValueAsBytes(task);
+                        put(id, json, versionOf(task), seenGeneration);
+                        sink.next(bufferFactory.wrap(json));
+                    } catch (JsonProcessingException e) {
+                        sink.error(e);
+                    }
+                });
+    }
+
+    public void invalidate(ObjectId id) {
+        generation.incrementAndGet();
+
+        synchronized (entries) {
+            Entry removed = entries.remove(id);
+            if(removed != null) usedBytes -= removed.body().capacity();
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+
+        synchronized (entries) {
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    // Most recently used first, bodies are read-only views sharing the cached memory.
+    public List<SnapshotEntry> hottest(int limit) {
+        List<SnapshotEntry> all;
+        synchronized (entries) {
+            all = new ArrayList<>(entries.size());
+            entries.forEach((id, entry) -> all.add(new SnapshotEntry(id, entry.version(), entry.body().duplicate())));
+        }
+
+        Collections.reverse(all);
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    // Taken before reading the versions a restore is checked against, see restore.
+    public long generation() {
+        return generation.get();
+    }
+
+    // Adds an entry read back from a snapshot, unless the Task was cached or anything was invalidated since
+    // seenGeneration was taken.
+    public boolean restore(SnapshotEntry snapshot, long seenGeneration) {
+        byte[] json = new byte[snapshot.body().remaining()];
+        snapshot.body().duplicate().get(json);
+
+        synchronized (entries) {
+            if(entries.containsKey(snapshot.id())) return false;
+        }
+        return put(snapshot.id(), json, snapshot.version(), seenGeneration);
+    }
+
+    public long usedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private ByteBuffer get(ObjectId id) {
+        if(!enabled) return null;
+
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            return entry == null ? null : entry.body().duplicate();
+        }
+    }
+
+    private boolean put(ObjectId id, byte[] json, long version, long seenGeneration) {
+        if(!enabled || json.length > maxEntryBytes || generation.get() != seenGeneration) return false;
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(json.length).put(json).flip().asReadOnlyBuffer();
+
+        synchronized (entries) {
+            if(generation.get() != seenGeneration) return false;
+
+            Entry previous = entries.put(id, new Entry(buffer, version));
+            if(previous != null) usedBytes -= previous.body().capacity();
+            usedBytes += buffer.capacity();
+
+            Iterator<Map.Entry<ObjectId, Entry>> eldest = entries.entrySet().iterator();
+            while(usedBytes > maxBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().getValue().body().capacity();
+                eldest.remove();
+            }
+        }
+        return true;
+    }
+
+    private static long versionOf(Task task) {
+        return task.getVersion() == null ? NO_VERSION : task.getVersion();
+    }
+
+    public record SnapshotEntry(ObjectId id, long version, ByteBuffer body) {
+    }
+
+    private record Entry(ByteBuffer body, long version) {
+    }
+}
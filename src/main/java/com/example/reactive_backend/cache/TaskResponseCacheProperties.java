@@ -0,0 +1,28 @@
+package com.example.reactive_backend.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.cache.task-response")
+public class TaskResponseCacheProperties {
+    private boolean enabled = true;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private DataSize maxEntrySize = DataSize.ofKilobytes(64);
+    private Snapshot snapshot = new Snapshot();
+
+    @Data
+    public static class Snapshot {
+        // Write the hottest entries on shutdown and load them back, re-validated, before the next start takes traffic.
+        private boolean enabled = false;
+        private Path file = Path.of("cache", "task-response.snapshot");
+        private int maxEntries = 20_000;
+        // Older snapshots are ignored, most of their entries would fail the version check anyway.
+        private Duration maxAge = Duration.ofHours(24);
+        private Duration loadTimeout = Duration.ofSeconds(30);
+    }
+}
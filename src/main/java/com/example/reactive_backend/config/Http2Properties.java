@@ -0,0 +1,20 @@
+package com.example.reactive_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * HTTP/2 settings advertised by the Netty server. Whether HTTP/2 is on at all is {@code server.http2.enabled}:
+ * without {@code server.ssl.*} the server speaks h2c (prior knowledge and HTTP/1.1 upgrade), with it h2 over TLS via ALPN.
+ */
+@Data
+@ConfigurationProperties("app.http2")
+public class Http2Properties {
+    // Streams one client may have in flight on a single connection.
+    private long maxConcurrentStreams = 1_000;
+    // Per-stream flow-control window; the HTTP/2 default of 64KB stalls larger task listings on fast links.
+    private DataSize initialWindowSize = DataSize.ofMegabytes(1);
+    private DataSize maxFrameSize = DataSize.ofKilobytes(16);
+    private DataSize maxHeaderListSize = DataSize.ofKilobytes(8);
+}
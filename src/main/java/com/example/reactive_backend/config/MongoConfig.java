@@ -0,0 +1,20 @@
+package com.example.reactive_backend.config;
+
+import com.example.reactive_backend.repository.converter.TaskReadConverter;
+import com.example.reactive_backend.repository.converter.UserAccountReadConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+@Configuration
+public class MongoConfig {
+
+    // Only reading converters are registered: a Converter<Task, Document> would make Spring Data treat Task as a
+    // simple store type and drop the mapping metadata (collection name, id population) the template relies on for writes.
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new TaskReadConverter(), new UserAccountReadConverter()));
+    }
+}
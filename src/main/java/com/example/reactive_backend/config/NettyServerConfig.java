@@ -0,0 +1,19 @@
+package com.example.reactive_backend.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NettyServerConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> http2SettingsCustomizer(Http2Properties properties) {
+        return factory -> factory.addServerCustomizers(httpServer -> httpServer.http2Settings(settings -> settings
+                .maxConcurrentStreams(properties.getMaxConcurrentStreams())
+                .initialWindowSize(Math.toIntExact(properties.getInitialWindowSize().toBytes()))
+                .maxFrameSize(Math.toIntExact(properties.getMaxFrameSize().toBytes()))
+                .maxHeaderListSize(properties.getMaxHeaderListSize().toBytes())));
+    }
+}
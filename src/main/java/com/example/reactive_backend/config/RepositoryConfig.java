@@ -0,0 +1,87 @@
+package com.example.reactive_backend.config;
+
+import com.example.reactive_backend.durability.WriteDurability;
+import com.example.reactive_backend.repository.BlockingTaskRepository;
+import com.example.reactive_backend.repository.BlockingUserAccountRepository;
+import com.example.reactive_backend.repository.BucketTaskRepository;
+import com.example.reactive_backend.repository.InMemoryTaskRepository;
+import com.example.reactive_backend.repository.InMemoryUserAccountRepository;
+import com.example.reactive_backend.repository.MongoTaskRepository;
+import com.example.reactive_backend.repository.MongoUserAccountRepository;
+import com.example.reactive_backend.repository.TaskRepository;
+import com.example.reactive_backend.repository.UserAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+public class RepositoryConfig {
+
+    @Bean
+    public TaskRepository taskRepository(StorageProperties storage,
+                                         ReactiveMongoTemplate reactiveMongoTemplate,
+                                         ObjectProvider<MongoTemplate> mongoTemplate,
+                                         @Qualifier("storageScheduler") ObjectProvider<Scheduler> storageScheduler,
+                                         WriteDurability writeDurability) {
+        if(storage.getEngine() == StorageProperties.Engine.MEMORY) return new InMemoryTaskRepository();
+
+        if(storage.getLayout() == StorageProperties.Layout.BUCKET) {
+            if(storage.getExecutionMode() != StorageProperties.ExecutionMode.REACTIVE) {
+                throw new IllegalStateException("The bucket layout is only available with app.storage.execution-mode=reactive.");
+            }
+            return new BucketTaskRepository(reactiveMongoTemplate, storage.getBucket().getCapacity(), writeDurability);
+        }
+
+        return switch (storage.getExecutionMode()) {
+            case REACTIVE -> new MongoTaskRepository(reactiveMongoTemplate, writeDurability);
+            case BLOCKING -> new BlockingTaskRepository(reactiveMongoTemplate, mongoTemplate.getObject(), storageScheduler.getObject(), writeDurability);
+        };
+    }
+
+    @Bean
+    public UserAccountRepository userAccountRepository(StorageProperties storage,
+                                                       ReactiveMongoTemplate reactiveMongoTemplate,
+                                                       ObjectProvider<MongoTemplate> mongoTemplate,
+                                                       @Qualifier("storageScheduler") ObjectProvider<Scheduler> storageScheduler,
+                                                       WriteDurability writeDurability) {
+        if(storage.getEngine() == StorageProperties.Engine.MEMORY) return new InMemoryUserAccountRepository();
+
+        return switch (storage.getExecutionMode()) {
+            case REACTIVE -> new MongoUserAccountRepository(reactiveMongoTemplate, writeDurability);
+            case BLOCKING -> new BlockingUserAccountRepository(reactiveMongoTemplate, mongoTemplate.getObject(), storageScheduler.getObject(), writeDurability);
+        };
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(prefix = "app.storage", name = "execution-mode", havingValue = "blocking")
+    public Scheduler storageScheduler(StorageProperties storage) {
+        ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+        if(virtualThreads != null) {
+            log.info("Blocking storage calls will run on virtual threads.");
+            return Schedulers.fromExecutorService(virtualThreads, "storage-virtual");
+        }
+
+        log.info("Virtual threads are not available on this JDK, blocking storage calls will run on a bounded elastic scheduler.");
+        return Schedulers.newBoundedElastic(storage.getBlocking().getThreadCap(), storage.getBlocking().getQueuedTaskCap(), "storage-blocking");
+    }
+
+    // Looked up reflectively so the project keeps compiling for Java 17 while using virtual threads on 21+.
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
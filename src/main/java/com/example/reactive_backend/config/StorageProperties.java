@@ -0,0 +1,46 @@
+package com.example.reactive_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("app.storage")
+public class StorageProperties {
+    private Engine engine = Engine.MONGO;
+    private ExecutionMode executionMode = ExecutionMode.REACTIVE;
+    private Blocking blocking = new Blocking();
+    private Layout layout = Layout.DOCUMENT;
+    private Bucket bucket = new Bucket();
+
+    public enum Engine {
+        MONGO,
+        // In-process maps, nothing is persisted. For edge deployments, load tests and tests.
+        MEMORY
+    }
+
+    public enum ExecutionMode {
+        // Reactive Streams driver through ReactiveMongoTemplate.
+        REACTIVE,
+        // Synchronous driver through MongoTemplate, each call on its own (virtual, when available) thread.
+        BLOCKING
+    }
+
+    public enum Layout {
+        // One document per Task in 'tasks'.
+        DOCUMENT,
+        // A user's Tasks embedded in bucket documents in 'task_buckets'; fill it with POST /api/admin/storage/task-buckets.
+        BUCKET
+    }
+
+    @Data
+    public static class Blocking {
+        // Only used when virtual threads are not available (JDK < 21).
+        private int threadCap = 200;
+        private int queuedTaskCap = 100_000;
+    }
+
+    @Data
+    public static class Bucket {
+        private int capacity = 200;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.reactive_backend.controller;
+
+import com.example.reactive_backend.accesslog.AccessLogProperties;
+import com.example.reactive_backend.accesslog.AccessLogReader;
+import com.example.reactive_backend.accesslog.AccessLogRecord;
+import com.example.reactive_backend.backup.BackupService;
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.repository.TaskBucketMigration;
+import com.example.reactive_backend.traffic.HeavyHitters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@RequestMapping(value = "/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    private final TaskBucketMigration taskBucketMigration;
+    private final BackupService backupService;
+    private final HeavyHitters heavyHitters;
+    private final AccessLogProperties accessLogProperties;
+
+    @PostMapping(value = "/storage/task-buckets")
+    public Mono<TaskBucketMigration.Result> migrateTasksToBuckets(@RequestParam(defaultValue = "false") boolean replace) {
+        return taskBucketMigration.migrate(replace);
+    }
+
+    @PostMapping(value = "/backup/export")
+    public Flux<BackupService.ExportResult> exportBackup() {
+        return backupService.exportAll();
+    }
+
+    // Streams one progress line per inserted batch, the last line has done=true.
+    @PostMapping(value = "/backup/import", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BackupService.ImportProgress> importBackup(@RequestParam String file) {
+        return backupService.importFile(file);
+    }
+
+    // The newest access log records, oldest first; the files are decoded off the event loop.
+    @GetMapping(value = "/access-log")
+    public Flux<AccessLogRecord> tailAccessLog(@RequestParam(defaultValue = "100") int limit) {
+        if(limit < 0) return Flux.error(new BadRequestException("The limit must not be negative, got: %d".formatted(limit)));
+
+        return Mono.fromCallable(() -> AccessLogReader.tail(accessLogProperties.getDirectory(), limit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(records -> records);
+    }
+
+    // Estimates over the sliding window (app.heavy-hitters.window), highest first.
+    @GetMapping(value = "/traffic/heavy-hitters")
+    public Flux<HeavyHitters.HotKey> heavyHitters(@RequestParam(defaultValue = "20") int limit) {
+        if(limit < 0) return Flux.error(new BadRequestException("The limit must not be negative, got: %d".formatted(limit)));
+
+        return Flux.fromIterable(heavyHitters.top(limit));
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.reactive_backend.controller;
 
+import com.example.reactive_backend.cache.TaskResponseCache;
+import com.example.reactive_backend.config.CodecConfig;
 import com.example.reactive_backend.errorhandling.exception.BadRequestException;
 import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.service.TaskPassthroughService;
 import com.example.reactive_backend.service.TaskService;
+import com.example.reactive_backend.traffic.HeavyHitters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -19,20 +26,98 @@ import java.util.ArrayList;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskResponseCache taskResponseCache;
+    private final TaskPassthroughService taskPassthroughService;
+    private final HeavyHitters heavyHitters;
 
+    // JSON reads are answered from the pre-serialized cache; the bytes go to the response untouched.
     @GetMapping(value = "/task")
+    public Mono<DataBuffer> getOneTaskJson(@RequestParam String id, ServerHttpResponse response) {
+        if(checkIdIntegrity(id)) {
+            log.error("The id: '%s' was not in the correct ObjectID format.".formatted(id));
+            return Mono.error(new BadRequestException("The id: '%s' was not in the correct ObjectID format.".formatted(id)));
+        }
+
+        ObjectId objectId = new ObjectId(id);
+        heavyHitters.record(HeavyHitters.Kind.TASK, objectId);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        return taskResponseCache.getOrLoad(objectId, () -> taskService.getOneTask(objectId), response.bufferFactory());
+    }
+
+    @GetMapping(value = "/task", produces = {MediaType.APPLICATION_CBOR_VALUE, CodecConfig.APPLICATION_SMILE_VALUE})
     public Mono<Task> getOneTask(@RequestParam String id) {
         if(checkIdIntegrity(id)) {
             log.error("The id: '%s' was not in the correct ObjectID format.".formatted(id));
             return Mono.error(new BadRequestException("The id: '%s' was not in the correct ObjectID format.".formatted(id)));
         }
 
-        return taskService.getOneTask(new ObjectId(id));
+        ObjectId objectId = new ObjectId(id);
+        heavyHitters.record(HeavyHitters.Kind.TASK, objectId);
+
+        return taskService.getOneTask(objectId);
     }
 
+    // Archived Tasks are never put in the response cache, so the cached route keeps answering for the hot collection only.
+    @GetMapping(value = "/task", params = "includeArchived=true")
+    public Mono<Task> getOneTaskIncludingArchive(@RequestParam String id) {
+        if(checkIdIntegrity(id)) {
+            log.error("The id: '%s' was not in the correct ObjectID format.".formatted(id));
+            return Mono.error(new BadRequestException("The id: '%s' was not in the correct ObjectID format.".formatted(id)));
+        }
+
+        ObjectId objectId = new ObjectId(id);
+        heavyHitters.record(HeavyHitters.Kind.TASK, objectId);
+
+        return taskService.getOneTask(objectId, true);
+    }
+
+    // Without parameters every Task in natural order; with any, only shapes an index answers are accepted.
     @GetMapping(value = "/tasks")
-    public Flux<Task> getAllTasks() {
-        return taskService.getAllTasks();
+    public Flux<Task> getTasks(@RequestParam(required = false) String userId,
+                               @RequestParam(required = false) Boolean completed,
+                               @RequestParam(required = false) String titlePrefix,
+                               @RequestParam(required = false) String sort) {
+        if(userId == null && completed == null && titlePrefix == null && sort == null) return taskService.getAllTasks();
+        if(userId != null && checkIdIntegrity(userId)) {
+            log.error("The id: '%s' was not in the correct ObjectID format.".formatted(userId));
+            return Flux.error(new BadRequestException("The id: '%s' was not in the correct ObjectID format.".formatted(userId)));
+        }
+
+        ObjectId userObjectId = userId == null ? null : new ObjectId(userId);
+        if(userObjectId != null) heavyHitters.record(HeavyHitters.Kind.USER_ACCOUNT, userObjectId);
+
+        return taskService.findTasks(userObjectId, completed, titlePrefix, sort);
+    }
+
+    @GetMapping(value = "/tasks/count")
+    public Mono<Long> countTasks(@RequestParam(required = false) String userId,
+                                 @RequestParam(required = false) Boolean completed,
+                                 @RequestParam(required = false) String titlePrefix) {
+        if(userId != null && checkIdIntegrity(userId)) {
+            log.error("The id: '%s' was not in the correct ObjectID format.".formatted(userId));
+            return Mono.error(new BadRequestException("The id: '%s' was not in the correct ObjectID format.".formatted(userId)));
+        }
+
+        return taskService.countTasks(userId == null ? null : new ObjectId(userId), completed, titlePrefix);
+    }
+
+    // Opt-in fast path for bulk listings: the stored BSON is transcoded straight into the response, no Task objects are built.
+    @GetMapping(value = "/tasks", params = "raw=true")
+    public Flux<DataBuffer> getAllTasksRaw(@RequestParam(required = false) String userId, ServerHttpResponse response) {
+        if(userId != null && checkIdIntegrity(userId)) {
+            log.error("The id: '%s' was not in the correct ObjectID format.".formatted(userId));
+            return Flux.error(new BadRequestException("The id: '%s' was not in the correct ObjectID format.".formatted(userId)));
+        }
+
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        if(userId == null) return taskPassthroughService.getAllTasks(response.bufferFactory());
+
+        ObjectId userObjectId = new ObjectId(userId);
+        heavyHitters.record(HeavyHitters.Kind.USER_ACCOUNT, userObjectId);
+
+        return taskPassthroughService.getAllTasksForOneUserAccount(userObjectId, response.bufferFactory());
     }
 
     @PostMapping(value = "/task")
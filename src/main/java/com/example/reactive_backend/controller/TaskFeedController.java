@@ -0,0 +1,45 @@
+package com.example.reactive_backend.controller;
+
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.feed.TaskFeed;
+import com.example.reactive_backend.feed.TaskFeedProperties;
+import com.example.reactive_backend.model.Task;
+import org.bson.types.ObjectId;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import static com.example.reactive_backend.utils.UtilMethods.checkIdIntegrity;
+
+@RestController
+@RequestMapping(value = "/api")
+public class TaskFeedController {
+    private final TaskFeed taskFeed;
+    // One timer for all subscribers instead of one per connection.
+    private final Flux<ServerSentEvent<Task>> heartbeats;
+
+    public TaskFeedController(TaskFeed taskFeed, TaskFeedProperties properties) {
+        this.taskFeed = taskFeed;
+        this.heartbeats = Flux.interval(properties.getHeartbeat())
+                .map(tick -> ServerSentEvent.<Task>builder().comment("keep-alive").build())
+                .share();
+    }
+
+    // Replaces polling GET /api/user for changes: the owner's Task creates, updates and deletes are pushed as they happen.
+    @GetMapping(value = "/user/tasks/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Task>> taskFeed(@RequestParam String id) {
+        if(checkIdIntegrity(id)) return Flux.error(new BadRequestException("This supplied ID: %s is not in the correct format".formatted(id)));
+
+        Flux<ServerSentEvent<Task>> events = taskFeed.subscribe(new ObjectId(id))
+                .map(event -> ServerSentEvent.builder(event.task())
+                        .event(event.type().eventName())
+                        .id(event.task().getId().toHexString())
+                        .build());
+
+        return Flux.merge(events, heartbeats);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.reactive_backend.controller;
+
+import com.example.reactive_backend.tracing.InMemorySpanExporter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping(value = "/api/admin/traces")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.tracing.in-memory", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TraceController {
+    private final InMemorySpanExporter spanExporter;
+
+    @GetMapping
+    public Flux<InMemorySpanExporter.SpanView> recentTraces(@RequestParam(defaultValue = "50") int limit,
+                                                            @RequestParam(defaultValue = "0") long minDurationMillis) {
+        return Flux.fromIterable(spanExporter.recentTraces(limit, minDurationMillis));
+    }
+
+    @GetMapping(value = "/{traceId}")
+    public Flux<InMemorySpanExporter.SpanView> trace(@PathVariable String traceId) {
+        return Flux.fromIterable(spanExporter.trace(traceId));
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.reactive_backend.controller;
 
 import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.model.LoginRequest;
+import com.example.reactive_backend.model.PasswordVerification;
 import com.example.reactive_backend.model.UserAccount;
 import com.example.reactive_backend.model.UserAccountDTO;
+import com.example.reactive_backend.model.UserAccountWithTasks;
 import com.example.reactive_backend.service.UserAccountService;
+import com.example.reactive_backend.traffic.HeavyHitters;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.http.HttpStatus;
@@ -17,12 +21,21 @@ import static com.example.reactive_backend.utils.UtilMethods.checkIdIntegrity;
 @RequiredArgsConstructor
 public class UserAccountController {
     private final UserAccountService service;
+    private final HeavyHitters heavyHitters;
 
     @GetMapping(value = "/user")
-    public Mono<UserAccountDTO> retrieveUserAccount(@RequestParam String id) {
+    public Mono<UserAccountDTO> retrieveUserAccount(@RequestParam String id, @RequestParam(defaultValue = "false") boolean includeArchived) {
         if(checkIdIntegrity(id)) return Mono.error(new BadRequestException("This supplied ID: %s is in the correct format".formatted(id)));
 
-        return service.retrieveUserAccount(new ObjectId(id));
+        ObjectId objectId = new ObjectId(id);
+        heavyHitters.record(HeavyHitters.Kind.USER_ACCOUNT, objectId);
+
+        return service.retrieveUserAccount(objectId, includeArchived);
+    }
+
+    @GetMapping(value = "/user/exists")
+    public Mono<Boolean> emailExists(@RequestParam String email) {
+        return service.emailExists(email);
     }
 
     @PostMapping(value = "/user/new")
@@ -30,4 +43,24 @@ public class UserAccountController {
     public Mono<UserAccount> createNewUserAccount(@RequestBody UserAccount userAccountInfo) {
         return service.createNewUserAccount(userAccountInfo);
     }
+
+    @PostMapping(value = "/user/new-with-tasks")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<UserAccountDTO> createUserAccountWithTasks(@RequestBody UserAccountWithTasks request) {
+        return service.createUserAccountWithTasks(request.getUserAccount(), request.getTasks());
+    }
+
+    @PostMapping(value = "/user/verify")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> verifyPassword(@RequestParam String id, @RequestBody PasswordVerification verification) {
+        if(checkIdIntegrity(id)) return Mono.error(new BadRequestException("This supplied ID: %s is in the correct format".formatted(id)));
+
+        return service.verifyPassword(new ObjectId(id), verification.getPassword());
+    }
+
+    @PostMapping(value = "/user/login")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> login(@RequestBody LoginRequest login) {
+        return service.login(login.getEmail(), login.getPassword());
+    }
 }
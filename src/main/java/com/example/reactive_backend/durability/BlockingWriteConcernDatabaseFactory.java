@@ -0,0 +1,55 @@
+package com.example.reactive_backend.durability;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+// Synchronous counterpart of WriteConcernDatabaseFactory for the blocking repositories.
+class BlockingWriteConcernDatabaseFactory implements MongoDatabaseFactory {
+    private final MongoDatabaseFactory delegate;
+    private final WriteConcern writeConcern;
+
+    BlockingWriteConcernDatabaseFactory(MongoDatabaseFactory delegate, WriteConcern writeConcern) {
+        this.delegate = delegate;
+        this.writeConcern = writeConcern;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() {
+        return delegate.getMongoDatabase().withWriteConcern(writeConcern);
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) {
+        return delegate.getMongoDatabase(dbName).withWriteConcern(writeConcern);
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return new BlockingWriteConcernDatabaseFactory(delegate.withSession(session), writeConcern);
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+}
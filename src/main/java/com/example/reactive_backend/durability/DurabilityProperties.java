@@ -0,0 +1,44 @@
+package com.example.reactive_backend.durability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("app.durability")
+public class DurabilityProperties {
+    private Map<String, Profile> profiles = defaultProfiles();
+    // Operations that are not listed use the default profile.
+    private Map<WriteOperation, String> operations = new EnumMap<>(Map.of(WriteOperation.USER_ACCOUNT_CREATE, "strict"));
+    private String defaultProfile = "standard";
+
+    @Data
+    public static class Profile {
+        // A number of members or "majority". A profile without any setting keeps the client's write concern.
+        private String w;
+        private Boolean journal;
+        // Only meaningful with w > 1 or majority: how long to wait for the other members before failing the write.
+        private Duration wtimeout;
+    }
+
+    private static Map<String, Profile> defaultProfiles() {
+        Profile fast = new Profile();
+        fast.setW("1");
+        fast.setJournal(false);
+
+        Profile strict = new Profile();
+        strict.setW("majority");
+        strict.setJournal(true);
+        strict.setWtimeout(Duration.ofSeconds(5));
+
+        Map<String, Profile> profiles = new LinkedHashMap<>();
+        profiles.put("fast", fast);
+        profiles.put("standard", new Profile());
+        profiles.put("strict", strict);
+        return profiles;
+    }
+}
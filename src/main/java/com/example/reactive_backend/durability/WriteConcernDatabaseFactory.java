@@ -0,0 +1,59 @@
+package com.example.reactive_backend.durability;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.WriteConcern;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out the databases of the wrapped factory with a fixed write concern. Applied at the database, the
+ * write concern also reaches findAndModify and findAndRemove, which the template's WriteConcernResolver skips.
+ */
+class WriteConcernDatabaseFactory implements ReactiveMongoDatabaseFactory {
+    private final ReactiveMongoDatabaseFactory delegate;
+    private final WriteConcern writeConcern;
+
+    WriteConcernDatabaseFactory(ReactiveMongoDatabaseFactory delegate, WriteConcern writeConcern) {
+        this.delegate = delegate;
+        this.writeConcern = writeConcern;
+    }
+
+    @Override
+    public Mono<MongoDatabase> getMongoDatabase() {
+        return delegate.getMongoDatabase().map(database -> database.withWriteConcern(writeConcern));
+    }
+
+    @Override
+    public Mono<MongoDatabase> getMongoDatabase(String dbName) {
+        return delegate.getMongoDatabase(dbName).map(database -> database.withWriteConcern(writeConcern));
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public Mono<ClientSession> getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public ReactiveMongoDatabaseFactory withSession(ClientSession session) {
+        return new WriteConcernDatabaseFactory(delegate.withSession(session), writeConcern);
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.reactive_backend.durability;
+
+import com.mongodb.WriteConcern;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs each repository write with the write concern of the profile configured for its {@link WriteOperation}
+ * and records its latency as {@code mongo.write}, tagged with the profile and the operation.
+ * <p>
+ * Profiles are applied through a template per profile that shares the client, converter and connection pool
+ * of the repository's own template, so bulk ingest on w:1 and account creation on majority with journal
+ * can run side by side. Operations on a profile without settings use the repository's template unchanged.
+ */
+@Slf4j
+@Component
+public class WriteDurability {
+    private final Map<String, WriteConcern> writeConcerns = new HashMap<>();
+    private final Map<WriteOperation, String> profiles = new EnumMap<>(WriteOperation.class);
+    private final Map<WriteOperation, Timer> timers = new EnumMap<>(WriteOperation.class);
+    private final Map<ProfileTemplate, Object> templates = new ConcurrentHashMap<>();
+
+    private record ProfileTemplate(Object base, String profile) {
+    }
+
+    public WriteDurability(DurabilityProperties properties, MeterRegistry meterRegistry) {
+        properties.getProfiles().forEach((name, profile) -> writeConcerns.put(name, writeConcern(name, profile)));
+
+        for(WriteOperation operation : WriteOperation.values()) {
+            String profile = properties.getOperations().getOrDefault(operation, properties.getDefaultProfile());
+            if(!writeConcerns.containsKey(profile)) {
+                throw new IllegalStateException("The durability profile '%s' of %s is not defined under app.durability.profiles.".formatted(profile, operation.tag()));
+            }
+
+            profiles.put(operation, profile);
+            timers.put(operation, Timer.builder("mongo.write")
+                    .tag("profile", profile)
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry));
+        }
+        log.info("Write durability profiles: %s".formatted(profiles));
+    }
+
+    // Every operation on the client's write concern. For repositories built outside the application context.
+    public static WriteDurability clientDefault() {
+        DurabilityProperties properties = new DurabilityProperties();
+        properties.getOperations().clear();
+        return new WriteDurability(properties, new SimpleMeterRegistry());
+    }
+
+    public String profile(WriteOperation operation) {
+        return profiles.get(operation);
+    }
+
+    // Null when the operation keeps the client's write concern.
+    public WriteConcern writeConcern(WriteOperation operation) {
+        return writeConcerns.get(profiles.get(operation));
+    }
+
+    public <T> Mono<T> write(WriteOperation operation, ReactiveMongoTemplate template, Function<ReactiveMongoTemplate, Mono<T>> write) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return write.apply(template(operation, template))
+                    .doFinally(sig -> timers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public <T> Flux<T> writeAll(WriteOperation operation, ReactiveMongoTemplate template, Function<ReactiveMongoTemplate, Flux<T>> write) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return write.apply(template(operation, template))
+                    .doFinally(sig -> timers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public <T> T writeBlocking(WriteOperation operation, MongoTemplate template, Function<MongoTemplate, T> write) {
+        long start = System.nanoTime();
+        try {
+            return write.apply(template(operation, template));
+        } finally {
+            timers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    ReactiveMongoTemplate template(WriteOperation operation, ReactiveMongoTemplate base) {
+        String profile = profiles.get(operation);
+        WriteConcern writeConcern = writeConcerns.get(profile);
+        if(writeConcern == null) return base;
+
+        return (ReactiveMongoTemplate) templates.computeIfAbsent(new ProfileTemplate(base, profile),
+                key -> new ReactiveMongoTemplate(new WriteConcernDatabaseFactory(base.getMongoDatabaseFactory(), writeConcern), base.getConverter()));
+    }
+
+    MongoTemplate template(WriteOperation operation, MongoTemplate base) {
+        String profile = profiles.get(operation);
+        WriteConcern writeConcern = writeConcerns.get(profile);
+        if(writeConcern == null) return base;
+
+        return (MongoTemplate) templates.computeIfAbsent(new ProfileTemplate(base, profile),
+                key -> new MongoTemplate(new BlockingWriteConcernDatabaseFactory(base.getMongoDatabaseFactory(), writeConcern), base.getConverter()));
+    }
+
+    static WriteConcern writeConcern(String name, DurabilityProperties.Profile profile) {
+        if(profile.getW() == null && profile.getJournal() == null && profile.getWtimeout() == null) return null;
+
+        WriteConcern writeConcern = WriteConcern.ACKNOWLEDGED;
+        String w = profile.getW();
+        if(w != null) {
+            if(!w.isEmpty() && w.chars().allMatch(Character::isDigit)) {
+                int members = Integer.parseInt(w);
+                // Unacknowledged writes cannot report duplicate keys or return the documents findAndModify needs.
+                if(members < 1) throw new IllegalStateException("The durability profile '%s' needs w of at least 1.".formatted(name));
+                writeConcern = new WriteConcern(members);
+            } else {
+                writeConcern = new WriteConcern(w);
+            }
+        }
+        if(profile.getJournal() != null) writeConcern = writeConcern.withJournal(profile.getJournal());
+        if(profile.getWtimeout() != null) writeConcern = writeConcern.withWTimeout(profile.getWtimeout().toMillis(), TimeUnit.MILLISECONDS);
+        return writeConcern;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.reactive_backend.durability;
+
+import java.util.Locale;
+
+// The repository writes a durability profile can be assigned to, e.g. app.durability.operations.task-create-bulk.
+public enum WriteOperation {
+    TASK_CREATE,
+    TASK_CREATE_BULK,
+    TASK_UPDATE,
+    TASK_DELETE,
+    USER_ACCOUNT_CREATE,
+    USER_ACCOUNT_UPDATE,
+    USER_ACCOUNT_DELETE;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.reactive_backend.errorhandling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Errors raised by a {@link org.springframework.web.server.WebFilter} never reach {@link GlobalExceptionHandler}.
+ * Those carrying a status are answered here with the same problem detail body, ahead of Boot's default error handler.
+ */
+@Component
+@Order(-2)
+@RequiredArgsConstructor
+public class FilterExceptionHandler implements WebExceptionHandler {
+    private final ServerCodecConfigurer codecs;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        if(!(ex instanceof ErrorResponse) || exchange.getResponse().isCommitted()) return Mono.error(ex);
+
+        ProblemDetail problem = GlobalExceptionHandler.problemDetail(ex, exchange);
+        return ServerResponse.status(problem.getStatus())
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(problem)
+                .flatMap(response -> response.writeTo(exchange, new ServerResponse.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return codecs.getWriters();
+                    }
+
+                    @Override
+                    public List<ViewResolver> viewResolvers() {
+                        return List.of();
+                    }
+                }));
+    }
+}
@@ -2,95 +2,62 @@ package com.example.reactive_backend.errorhandling;
 
 import com.example.reactive_backend.errorhandling.exception.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.Map;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
-    @ExceptionHandler(NotFoundException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public Mono<ErrorAdviceDto> returnNotFoundErrorAdvice(NotFoundException exception, ServerWebExchange exchange) {
-        ErrorAdviceDto error = ErrorAdviceDto.builder()
-                .path(exchange.getRequest().getPath().toString())
-                .httpMethod(exchange.getRequest().getMethod().name())
-                .message(exception.getMessage())
-                .error(HttpStatus.NOT_FOUND)
-                .statusCode(HttpStatus.NOT_FOUND.value())
-                .build();
-
-        return Mono.just(error);
-    }
-
-    @ExceptionHandler(CouldNotInsertException.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public Mono<ErrorAdviceDto> returnCouldNotInsertErrorAdvice(CouldNotInsertException exception, ServerWebExchange exchange) {
-        ErrorAdviceDto error = ErrorAdviceDto.builder()
-                .path(exchange.getRequest().getPath().toString())
-                .httpMethod(exchange.getRequest().getMethod().name())
-                .message(exception.getMessage())
-                .error(HttpStatus.INTERNAL_SERVER_ERROR)
-                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .build();
-
-        return Mono.just(error);
-    }
-
-    @ExceptionHandler(CouldNotUpdateException.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public Mono<ErrorAdviceDto> returnCouldNotUpdateErrorAdvice(CouldNotUpdateException exception, ServerWebExchange exchange) {
-        ErrorAdviceDto error = ErrorAdviceDto.builder()
-                .path(exchange.getRequest().getPath().toString())
-                .httpMethod(exchange.getRequest().getMethod().name())
-                .message(exception.getMessage())
-                .error(HttpStatus.INTERNAL_SERVER_ERROR)
-                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .build();
+    private static final Map<Class<? extends Throwable>, HttpStatus> STATUS_TABLE = Map.of(
+            NotFoundException.class, HttpStatus.NOT_FOUND,
+            BadRequestException.class, HttpStatus.BAD_REQUEST,
+            UnauthorizedException.class, HttpStatus.UNAUTHORIZED,
+            ConflictException.class, HttpStatus.CONFLICT,
+            ServiceBusyException.class, HttpStatus.SERVICE_UNAVAILABLE,
+            CouldNotInsertException.class, HttpStatus.INTERNAL_SERVER_ERROR,
+            CouldNotUpdateException.class, HttpStatus.INTERNAL_SERVER_ERROR,
+            CouldNotDeleteException.class, HttpStatus.INTERNAL_SERVER_ERROR,
+            DatabaseException.class, HttpStatus.INTERNAL_SERVER_ERROR
+    );
+
+    // Resolved once per exception class by walking up to the closest entry in the table.
+    private static final ClassValue<HttpStatus> STATUS_BY_TYPE = new ClassValue<>() {
+        @Override
+        protected HttpStatus computeValue(Class<?> type) {
+            for(Class<?> current = type; current != null; current = current.getSuperclass()) {
+                HttpStatus status = STATUS_TABLE.get(current);
+                if(status != null) return status;
+            }
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+    };
 
-        return Mono.just(error);
-    }
-
-    @ExceptionHandler(CouldNotDeleteException.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public Mono<ErrorAdviceDto> returnCouldNotDeleteErrorAdvice(CouldNotDeleteException exception, ServerWebExchange exchange) {
-        ErrorAdviceDto error = ErrorAdviceDto.builder()
-                .path(exchange.getRequest().getPath().toString())
-                .httpMethod(exchange.getRequest().getMethod().name())
-                .message(exception.getMessage())
-                .error(HttpStatus.INTERNAL_SERVER_ERROR)
-                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .build();
-
-        return Mono.just(error);
-    }
-
-    @ExceptionHandler(BadRequestException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public Mono<ErrorAdviceDto> returnBadRequestErrorAdvice(BadRequestException exception, ServerWebExchange exchange) {
-        ErrorAdviceDto error = ErrorAdviceDto.builder()
-                .path(exchange.getRequest().getPath().toString())
-                .httpMethod(exchange.getRequest().getMethod().name())
-                .message(exception.getMessage())
-                .error(HttpStatus.BAD_REQUEST)
-                .statusCode(HttpStatus.BAD_REQUEST.value())
-                .build();
+    @ExceptionHandler(RuntimeException.class)
+    public Mono<ResponseEntity<ProblemDetail>> returnProblemDetail(RuntimeException exception, ServerWebExchange exchange) {
+        ProblemDetail problem = problemDetail(exception, exchange);
 
-        return Mono.just(error);
+        return Mono.just(ResponseEntity.status(problem.getStatus())
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(problem));
     }
 
-    @ExceptionHandler(RuntimeException.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public Mono<ErrorAdviceDto> returnGlobalExceptionErrorAdvice(RuntimeException exception, ServerWebExchange exchange) {
-        ErrorAdviceDto error = ErrorAdviceDto.builder()
-                .path(exchange.getRequest().getPath().toString())
-                .httpMethod(exchange.getRequest().getMethod().name())
-                .message(exception.getMessage())
-                .error(HttpStatus.INTERNAL_SERVER_ERROR)
-                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .build();
+    static ProblemDetail problemDetail(Throwable exception, ServerWebExchange exchange) {
+        HttpStatusCode status = exception instanceof ErrorResponse errorResponse
+                ? errorResponse.getStatusCode()
+                : STATUS_BY_TYPE.get(exception.getClass());
 
-        return Mono.just(error);
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, exception.getMessage());
+        problem.setInstance(URI.create(exchange.getRequest().getPath().value()));
+        problem.setProperty("httpMethod", exchange.getRequest().getMethod().name());
+        return problem;
     }
 }
@@ -1,10 +1,7 @@
 package com.example.reactive_backend.errorhandling.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+public class BadRequestException extends DomainException {
 
-@ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BadRequestException extends RuntimeException{
     public BadRequestException(String message) {
         super(message);
     }
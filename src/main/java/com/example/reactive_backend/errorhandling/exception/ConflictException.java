@@ -0,0 +1,8 @@
+package com.example.reactive_backend.errorhandling.exception;
+
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.reactive_backend.errorhandling.exception;
 
-public class CouldNotDeleteException extends RuntimeException {
+public class CouldNotDeleteException extends DomainException {
 
     public CouldNotDeleteException(String message) {
         super(message);
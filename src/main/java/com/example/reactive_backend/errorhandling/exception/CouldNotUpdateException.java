@@ -1,10 +1,6 @@
 package com.example.reactive_backend.errorhandling.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-public class CouldNotUpdateException extends RuntimeException {
+public class CouldNotUpdateException extends DomainException {
 
     public CouldNotUpdateException(String message) {
         super(message);
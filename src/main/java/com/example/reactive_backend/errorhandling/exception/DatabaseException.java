@@ -0,0 +1,12 @@
+package com.example.reactive_backend.errorhandling.exception;
+
+public class DatabaseException extends DomainException {
+
+    public DatabaseException(String message) {
+        super(message);
+    }
+
+    public DatabaseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.reactive_backend.errorhandling.exception;
+
+/**
+ * Base for the application's own exceptions. They describe expected outcomes (missing documents, bad input,
+ * failed writes) that are answered with a status code, so no stack trace is captured and suppression is off.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.reactive_backend.errorhandling.exception;
+
+public class ServiceBusyException extends DomainException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
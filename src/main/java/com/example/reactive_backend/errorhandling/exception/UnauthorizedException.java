@@ -0,0 +1,8 @@
+package com.example.reactive_backend.errorhandling.exception;
+
+public class UnauthorizedException extends DomainException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.reactive_backend.event;
+
+import com.example.reactive_backend.model.Task;
+import org.bson.types.ObjectId;
+
+/**
+ * Published by {@link com.example.reactive_backend.service.TaskService} after a Task was written.
+ * For deletions {@code task} is the document as it was removed. {@code previousUserId} is the owner before an
+ * update and null for other events.
+ */
+public record TaskEvent(Type type, Task task, ObjectId previousUserId) {
+
+    public TaskEvent(Type type, Task task) {
+        this(type, task, null);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED;
+
+        public String eventName() {
+            return name().toLowerCase();
+        }
+    }
+}
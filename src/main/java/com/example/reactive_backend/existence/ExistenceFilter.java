@@ -0,0 +1,152 @@
+package com.example.reactive_backend.existence;
+
+import com.example.reactive_backend.repository.TaskRepository;
+import com.example.reactive_backend.repository.UserAccountRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bloom filters of the Task and User Account ids that exist, so lookups for ids that were never created are
+ * answered with 404 without a database round trip. The filters are built from the repositories at startup and
+ * rebuilt every app.existence-filter.rebuild-interval to shed deleted ids; until the first build finishes every
+ * id is treated as possibly present. The services record ids they create.
+ * <p>
+ * Metrics: {@code existence.filter.memory} and {@code existence.filter.expected.fpp} (gauges),
+ * {@code existence.filter.checks} (tag {@code result}) and {@code existence.filter.false.positives}, all tagged
+ * with {@code kind}. False positives over checks with result {@code maybe} is the observed rate, stale deleted
+ * ids included.
+ */
+@Slf4j
+@Component
+public class ExistenceFilter implements ApplicationRunner, MeterBinder {
+    public enum Kind {
+        TASK, USER_ACCOUNT
+    }
+
+    private final ExistenceFilterProperties properties;
+    private final Map<Kind, Tracked> tracked = new EnumMap<>(Kind.class);
+
+    private Disposable schedule;
+
+    public ExistenceFilter(ExistenceFilterProperties properties, TaskRepository taskRepository, UserAccountRepository userAccountRepository) {
+        this.properties = properties;
+        tracked.put(Kind.TASK, new Tracked(taskRepository::streamIds));
+        tracked.put(Kind.USER_ACCOUNT, new Tracked(userAccountRepository::streamIds));
+    }
+
+    // True only when the id was certainly never recorded; false means "look it up".
+    public boolean isKnownAbsent(Kind kind, ObjectId id) {
+        if(!properties.isEnabled()) return false;
+
+        Tracked filter = tracked.get(kind);
+        ScalableBloomFilter current = filter.current;
+        if(current == null) return false;
+
+        boolean absent = !current.mightContain(id);
+        (absent ? filter.absent : filter.maybe).increment();
+        return absent;
+    }
+
+    public void record(Kind kind, ObjectId id) {
+        if(!properties.isEnabled() || id == null) return;
+
+        Tracked filter = tracked.get(kind);
+        // Written to the filter being built first: a rebuild that swaps in between must not lose the id.
+        ScalableBloomFilter next = filter.rebuilding;
+        if(next != null) next.add(id);
+        ScalableBloomFilter current = filter.current;
+        if(current != null) current.add(id);
+    }
+
+    // Called when an id passed the filter but the database had nothing for it.
+    public void recordFalsePositive(Kind kind) {
+        if(properties.isEnabled()) tracked.get(kind).falsePositives.increment();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if(!properties.isEnabled()) return;
+
+        schedule = Flux.interval(Duration.ZERO, properties.getRebuildInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild()
+                        .onErrorResume(err -> {
+                            log.error("Rebuilding the existence filters failed, retrying at the next interval: %s".formatted(err.toString()));
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if(schedule != null) schedule.dispose();
+    }
+
+    public Mono<Void> rebuild() {
+        return Flux.fromIterable(tracked.entrySet())
+                .concatMap(entry -> rebuild(entry.getKey(), entry.getValue()))
+                .then();
+    }
+
+    private Mono<Void> rebuild(Kind kind, Tracked filter) {
+        return Mono.defer(() -> {
+            ScalableBloomFilter next = new ScalableBloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+            // Set before reading so ids created while the scan runs end up in the new filter too.
+            filter.rebuilding = next;
+
+            return filter.ids.get()
+                    .doOnNext(next::add)
+                    .then(Mono.fromRunnable(() -> {
+                        filter.current = next;
+                        log.info("Existence filter for %s holds %d ids in %d KB".formatted(kind, next.approximateCount(), next.memoryBytes() / 1024));
+                    }))
+                    .doFinally(sig -> filter.rebuilding = null)
+                    .then();
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tracked.forEach((kind, filter) -> {
+            String tag = kind.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("existence.filter.memory", filter, f -> f.current == null ? 0 : f.current.memoryBytes())
+                    .baseUnit("bytes").tag("kind", tag).register(registry);
+            Gauge.builder("existence.filter.expected.fpp", filter, f -> f.current == null ? 0 : f.current.expectedFalsePositiveRate())
+                    .tag("kind", tag).register(registry);
+            FunctionCounter.builder("existence.filter.checks", filter.absent, LongAdder::sum).tag("kind", tag).tag("result", "absent").register(registry);
+            FunctionCounter.builder("existence.filter.checks", filter.maybe, LongAdder::sum).tag("kind", tag).tag("result", "maybe").register(registry);
+            FunctionCounter.builder("existence.filter.false.positives", filter.falsePositives, LongAdder::sum).tag("kind", tag).register(registry);
+        });
+    }
+
+    private static final class Tracked {
+        private final Supplier<Flux<ObjectId>> ids;
+        private final LongAdder absent = new LongAdder();
+        private final LongAdder maybe = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        private volatile ScalableBloomFilter current;
+        private volatile ScalableBloomFilter rebuilding;
+
+        private Tracked(Supplier<Flux<ObjectId>> ids) {
+            this.ids = ids;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.reactive_backend.existence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.existence-filter")
+public class ExistenceFilterProperties {
+    // Only safe while this instance is the only writer: ids created elsewhere would be answered with 404.
+    private boolean enabled = false;
+    // Size of the first filter segment; a new segment twice as large is added whenever the last one fills up.
+    private long expectedInsertions = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    // Deleted ids are never removed from a Bloom filter, rebuilding from the database drops them.
+    private Duration rebuildInterval = Duration.ofHours(6);
+}
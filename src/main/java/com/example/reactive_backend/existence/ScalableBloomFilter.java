@@ -0,0 +1,134 @@
+package com.example.reactive_backend.existence;
+
+import org.bson.types.ObjectId;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of ObjectIds that grows instead of degrading: when the newest segment holds as many ids as it
+ * was sized for, a segment twice as large with half the false positive rate is added, which keeps the overall
+ * rate under twice the configured one. Bits are set with CAS, so adds and lookups never take a lock.
+ */
+class ScalableBloomFilter {
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    ScalableBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        segments.add(new Segment(Math.max(1, expectedInsertions), falsePositiveRate * TIGHTENING));
+    }
+
+    void add(ObjectId id) {
+        long h1 = hash1(id);
+        long h2 = hash2(h1);
+
+        Segment last = segments.get(segments.size() - 1);
+        if(last.mightContain(h1, h2)) return;
+        if(last.count.get() >= last.capacity) last = grow(last);
+        last.add(h1, h2);
+    }
+
+    boolean mightContain(ObjectId id) {
+        long h1 = hash1(id);
+        long h2 = hash2(h1);
+
+        for(Segment segment : segments) {
+            if(segment.mightContain(h1, h2)) return true;
+        }
+        return false;
+    }
+
+    long memoryBytes() {
+        return segments.stream().mapToLong(segment -> segment.bits.length() * 8L).sum();
+    }
+
+    long approximateCount() {
+        return segments.stream().mapToLong(segment -> segment.count.get()).sum();
+    }
+
+    // Estimated from how many ids each segment holds compared to its size.
+    double expectedFalsePositiveRate() {
+        double none = 1;
+        for(Segment segment : segments) none *= 1 - segment.expectedFalsePositiveRate();
+        return 1 - none;
+    }
+
+    private synchronized Segment grow(Segment full) {
+        Segment last = segments.get(segments.size() - 1);
+        if(last != full) return last;
+
+        Segment next = new Segment(full.capacity * 2, full.falsePositiveRate * TIGHTENING);
+        segments.add(next);
+        return next;
+    }
+
+    private static long hash1(ObjectId id) {
+        byte[] bytes = id.toByteArray();
+        long high = 0;
+        for(int i = 0; i < 8; i++) high = high << 8 | (bytes[i] & 0xFF);
+        long low = (bytes[8] & 0xFFL) << 24 | (bytes[9] & 0xFFL) << 16 | (bytes[10] & 0xFFL) << 8 | (bytes[11] & 0xFFL);
+        return mix(high ^ mix(low));
+    }
+
+    // Odd, so stepping by it visits distinct positions in a power-of-two sized bit array.
+    private static long hash2(long h1) {
+        return mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Segment {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final int hashes;
+        private final long mask;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        private Segment(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            long size = Long.highestOneBit(Math.max(64, optimalBits - 1)) << 1;
+            this.mask = size - 1;
+            this.bits = new AtomicLongArray(Math.toIntExact(size >>> 6));
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+        }
+
+        private void add(long h1, long h2) {
+            for(int i = 0; i < hashes; i++) {
+                long bit = (h1 + i * h2) & mask;
+                int word = (int) (bit >>> 6);
+                long flag = 1L << bit;
+
+                long current;
+                do {
+                    current = bits.get(word);
+                    if((current & flag) != 0) break;
+                } while(!bits.compareAndSet(word, current, current | flag));
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            for(int i = 0; i < hashes; i++) {
+                long bit = (h1 + i * h2) & mask;
+                if((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        private double expectedFalsePositiveRate() {
+            double size = mask + 1;
+            return Math.pow(1 - Math.exp(-hashes * count.get() / size), hashes);
+        }
+    }
+}
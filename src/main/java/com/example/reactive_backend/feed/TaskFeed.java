@@ -0,0 +1,92 @@
+package com.example.reactive_backend.feed;
+
+import com.example.reactive_backend.event.TaskEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans Task events out to the subscribers of the owning user. There is one multicast sink per user with at
+ * least one subscriber, removed again with its last subscriber, so idle users cost nothing and an idle
+ * subscriber costs its sink slot plus an (initially empty) overflow buffer.
+ */
+@Slf4j
+@Component
+public class TaskFeed {
+    private final TaskFeedProperties properties;
+    private final Map<ObjectId, UserChannel> channels = new ConcurrentHashMap<>();
+
+    public TaskFeed(TaskFeedProperties properties) {
+        this.properties = properties;
+    }
+
+    public Flux<TaskEvent> subscribe(ObjectId userId) {
+        Flux<TaskEvent> events = Flux.defer(() -> {
+            // The subscriber count is only touched inside compute, which holds the map's lock for this key.
+            UserChannel channel = channels.compute(userId, (id, existing) -> {
+                UserChannel current = existing == null ? new UserChannel() : existing;
+                current.subscribers++;
+                return current;
+            });
+
+            return channel.sink.asFlux().doFinally(sig -> release(userId, channel));
+        });
+
+        // directBestEffort skips a subscriber without demand instead of failing the whole sink,
+        // the buffer below decides what such a slow subscriber keeps.
+        return switch (properties.getOverflow()) {
+            case LATEST -> events.onBackpressureLatest();
+            case DROP_OLDEST -> events.onBackpressureBuffer(properties.getBufferSize(),
+                    dropped -> log.debug("Dropped %s event for Task %s, subscriber too slow".formatted(dropped.type(), dropped.task().getId())),
+                    BufferOverflowStrategy.DROP_OLDEST);
+        };
+    }
+
+    @EventListener
+    public void onTaskEvent(TaskEvent event) {
+        ObjectId userId = event.task().getUserId();
+        if(userId != null) publish(userId, event);
+
+        // A Task moved to another user is also announced to the user who lost it.
+        ObjectId previousUserId = event.previousUserId();
+        if(previousUserId != null && !previousUserId.equals(userId)) publish(previousUserId, event);
+    }
+
+    public int userCount() {
+        return channels.size();
+    }
+
+    private void publish(ObjectId userId, TaskEvent event) {
+        UserChannel channel = channels.get(userId);
+        if(channel == null) return;
+
+        // Writes for the same user can finish on different threads at once and the sink only takes one emitter at a time.
+        // Publishers run on event loop threads, so they queue up on the channel instead of spinning on a failed emit.
+        Sinks.EmitResult result;
+        synchronized (channel) {
+            result = channel.sink.tryEmitNext(event);
+        }
+        if(result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.warn("Could not publish %s event for Task %s: %s".formatted(event.type(), event.task().getId(), result));
+        }
+    }
+
+    private void release(ObjectId userId, UserChannel channel) {
+        channels.computeIfPresent(userId, (id, existing) -> {
+            if(existing != channel) return existing;
+            return --existing.subscribers == 0 ? null : existing;
+        });
+    }
+
+    private static final class UserChannel {
+        private final Sinks.Many<TaskEvent> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+    }
+}
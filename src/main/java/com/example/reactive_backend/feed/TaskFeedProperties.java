@@ -0,0 +1,23 @@
+package com.example.reactive_backend.feed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.task-feed")
+public class TaskFeedProperties {
+    // Events kept for a subscriber that is not reading; only used with DROP_OLDEST.
+    private int bufferSize = 32;
+    private Overflow overflow = Overflow.DROP_OLDEST;
+    // SSE comment sent to every subscriber so proxies keep the connection open and dead clients are noticed.
+    private Duration heartbeat = Duration.ofSeconds(30);
+
+    public enum Overflow {
+        // Keep the newest bufferSize events, drop older ones.
+        DROP_OLDEST,
+        // Keep only the newest event.
+        LATEST
+    }
+}
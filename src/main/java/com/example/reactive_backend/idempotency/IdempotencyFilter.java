@@ -0,0 +1,179 @@
+package com.example.reactive_backend.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes the creating POST endpoints safe to retry. A request carrying an {@code Idempotency-Key} header runs once;
+ * retries with the same key on the same path get the stored status and body back (marked with
+ * {@code Idempotency-Replayed: true}) without reaching the controller, and retries arriving while the first
+ * request is still running wait for its result instead of inserting again. A retry is only recognised as such
+ * when its method, path, query and body hash to the same fingerprint; reusing a key for a different request is
+ * answered with 422.
+ * <p>
+ * Keys are only remembered by this instance; behind a load balancer, retries must stick to the same instance
+ * for the guarantee to hold.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter implements WebFilter {
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String key = exchange.getRequest().getHeaders().getFirst(KEY_HEADER);
+        String path = exchange.getRequest().getPath().value();
+
+        if(!properties.isEnabled() || key == null || exchange.getRequest().getMethod() != HttpMethod.POST || !properties.getPaths().contains(path)) {
+            return chain.filter(exchange);
+        }
+        if(key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "%s must be 1 to %d characters.".formatted(KEY_HEADER, MAX_KEY_LENGTH)));
+        }
+
+        String scopedKey = path + ' ' + key;
+        return DataBufferUtils.join(exchange.getRequest().getBody(), Math.toIntExact(properties.getMaxRequestSize().toBytes()))
+                .map(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .onErrorMap(DataBufferLimitException.class, err -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "Requests with an %s are limited to %s.".formatted(KEY_HEADER, properties.getMaxRequestSize())))
+                .flatMap(body -> claimAndRun(exchange, chain, scopedKey, body));
+    }
+
+    private Mono<Void> claimAndRun(ServerWebExchange exchange, WebFilterChain chain, String scopedKey, byte[] body) {
+        String path = exchange.getRequest().getPath().value();
+        byte[] fingerprint = fingerprint(exchange.getRequest(), body);
+        IdempotencyStore.Claim claim = store.claim(scopedKey, fingerprint);
+
+        if(!claim.owner()) {
+            if(!claim.matches(fingerprint)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "This %s was already used for a different request.".formatted(KEY_HEADER)));
+            }
+
+            log.info("Replaying the response for %s on %s".formatted(KEY_HEADER, path));
+            return claim.response()
+                    .onErrorMap(err -> new ResponseStatusException(HttpStatus.CONFLICT, "The original request for this %s did not finish, retry it.".formatted(KEY_HEADER)))
+                    .flatMap(stored -> replay(exchange.getResponse(), stored));
+        }
+
+        // The body was consumed for the fingerprint, the handler reads it again from memory.
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+        CapturingResponse response = new CapturingResponse(exchange.getResponse(), scopedKey, claim);
+        return chain.filter(exchange.mutate().request(request).response(response).build())
+                .doOnSuccess(done -> response.completeWithoutBody())
+                .doOnError(err -> store.abandon(scopedKey, claim, err))
+                .doOnCancel(() -> store.abandon(scopedKey, claim, new CancellationException("The request was cancelled.")));
+    }
+
+    private static byte[] fingerprint(ServerHttpRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String requestLine = "%s %s?%s\n".formatted(request.getMethod().name(), request.getURI().getRawPath(), Objects.toString(request.getURI().getRawQuery(), ""));
+            digest.update(requestLine.getBytes(StandardCharsets.UTF_8));
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Mono<Void> replay(ServerHttpResponse response, IdempotencyStore.StoredResponse stored) {
+        response.setStatusCode(stored.status());
+        if(stored.contentType() != null) response.getHeaders().setContentType(stored.contentType());
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(stored.body())));
+    }
+
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+        private final String scopedKey;
+        private final IdempotencyStore.Claim claim;
+        private final AtomicBoolean captured = new AtomicBoolean();
+
+        CapturingResponse(ServerHttpResponse delegate, String scopedKey, IdempotencyStore.Claim claim) {
+            super(delegate);
+            this.scopedKey = scopedKey;
+            this.claim = claim;
+        }
+
+        // Buffers are held back only until the limit is crossed: a body within it arrives as one list and is kept,
+        // a larger one gives up its claim and streams on from the buffer that crossed the limit.
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long limit = properties.getMaxResponseSize().toBytes();
+            AtomicLong size = new AtomicLong();
+            Flux<DataBuffer> passed = Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > limit)
+                    .concatMapIterable(buffers -> {
+                        if(size.get() > limit) {
+                            if(captured.compareAndSet(false, true)) store.abandon(scopedKey, claim, new IllegalStateException("Response too large to keep."));
+                            return buffers;
+                        }
+
+                        DataBuffer joined = bufferFactory().join(buffers);
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        capture(bytes);
+                        return List.of(bufferFactory().wrap(bytes));
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+            return super.writeWith(passed);
+        }
+
+        void completeWithoutBody() {
+            capture(new byte[0]);
+        }
+
+        private void capture(byte[] body) {
+            if(!captured.compareAndSet(false, true)) return;
+
+            HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+            store.complete(scopedKey, claim, new IdempotencyStore.StoredResponse(status, getHeaders().getContentType(), body));
+        }
+    }
+}
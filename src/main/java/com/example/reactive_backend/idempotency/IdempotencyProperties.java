@@ -0,0 +1,23 @@
+package com.example.reactive_backend.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties("app.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // POST endpoints that honour the Idempotency-Key header.
+    private Set<String> paths = Set.of("/api/task", "/api/tasks", "/api/user/new", "/api/user/new-with-tasks");
+    // How long a key is remembered after it was first used.
+    private Duration ttl = Duration.ofMinutes(10);
+    private int maxEntries = 10_000;
+    // Request bodies are read in full to fingerprint them; larger ones are refused with 413.
+    private DataSize maxRequestSize = DataSize.ofKilobytes(256);
+    // Larger responses are passed through but not kept, a retry of them runs again.
+    private DataSize maxResponseSize = DataSize.ofKilobytes(256);
+}
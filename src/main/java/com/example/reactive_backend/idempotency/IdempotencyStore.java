@@ -0,0 +1,103 @@
+package com.example.reactive_backend.idempotency;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers recent idempotency keys and the response each one produced. The first request for a key claims it and
+ * runs; any request with the same key arriving later subscribes to the same result, whether it is still in flight
+ * or already finished. Each key keeps the fingerprint of the request that claimed it, so a reuse of the key for a
+ * different request can be told apart. Bounded by entry count (oldest first) and by a TTL counted from the first use.
+ */
+@Component
+public class IdempotencyStore {
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, Clock clock) {
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.maxEntries = properties.getMaxEntries();
+        this.clock = clock;
+    }
+
+    public record StoredResponse(HttpStatusCode status, MediaType contentType, byte[] body) {
+    }
+
+    public record Claim(boolean owner, Entry entry) {
+
+        public Mono<StoredResponse> response() {
+            return entry.result.asMono();
+        }
+
+        // Whether the request holding this claim is the one that first used the key.
+        public boolean matches(byte[] fingerprint) {
+            return MessageDigest.isEqual(entry.fingerprint, fingerprint);
+        }
+    }
+
+    public static final class Entry {
+        private final Sinks.One<StoredResponse> result = Sinks.one();
+        private final byte[] fingerprint;
+        private final long createdAt;
+
+        private Entry(byte[] fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+
+    public Claim claim(String key, byte[] fingerprint) {
+        long now = clock.millis();
+
+        synchronized (entries) {
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while(eldest.hasNext() && now - eldest.next().getValue().createdAt >= ttlMillis) eldest.remove();
+
+            Entry existing = entries.get(key);
+            if(existing != null) return new Claim(false, existing);
+
+            Entry entry = new Entry(fingerprint, now);
+            entries.put(key, entry);
+            if(entries.size() > maxEntries) entries.remove(entries.keySet().iterator().next());
+            return new Claim(true, entry);
+        }
+    }
+
+    // Server errors are handed to the requests already waiting but forgotten, so the next retry runs again.
+    public void complete(String key, Claim claim, StoredResponse response) {
+        if(response.status().is5xxServerError()) remove(key, claim);
+        claim.entry().result.tryEmitValue(response);
+    }
+
+    public void abandon(String key, Claim claim, Throwable cause) {
+        remove(key, claim);
+        claim.entry().result.tryEmitError(cause);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void remove(String key, Claim claim) {
+        synchronized (entries) {
+            entries.remove(key, claim.entry());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.reactive_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordVerification {
+    private String password;
+}
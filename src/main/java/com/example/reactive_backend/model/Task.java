@@ -1,15 +1,20 @@
 package com.example.reactive_backend.model;
 
+import com.example.reactive_backend.serialization.ObjectIdDeserializer;
+import com.example.reactive_backend.serialization.ObjectIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Document("tasks") // This line here will tell the Reactive Mongo Client which collection to find.
 @RequiredArgsConstructor
 @AllArgsConstructor
@@ -17,11 +22,18 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @Builder(toBuilder = true)
 public class Task {
     @Id
-    @JsonSerialize(using = ToStringSerializer.class)
+    @JsonSerialize(using = ObjectIdSerializer.class)
+    @JsonDeserialize(using = ObjectIdDeserializer.class)
     private ObjectId id;
     private String title;
     private String description;
     private boolean completed;
-    @JsonSerialize(using = ToStringSerializer.class)
+    @JsonSerialize(using = ObjectIdSerializer.class)
+    @JsonDeserialize(using = ObjectIdDeserializer.class)
     private ObjectId userId;
+    // Set by the server when the Task is first completed, cleared when it is reopened.
+    private Instant completedAt;
+    // Bumped by every write, lets cached copies (e.g. the warm-start snapshot) be checked for freshness.
+    @Version
+    private Long version;
 }
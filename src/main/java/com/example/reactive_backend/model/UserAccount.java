@@ -1,7 +1,10 @@
 package com.example.reactive_backend.model;
 
+import com.example.reactive_backend.serialization.ObjectIdDeserializer;
+import com.example.reactive_backend.serialization.ObjectIdSerializer;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,12 +24,16 @@ import java.util.ArrayList;
 @Document("user_accounts")
 public class UserAccount {
     @Id
-    @JsonSerialize(using = ToStringSerializer.class)
+    @JsonSerialize(using = ObjectIdSerializer.class)
+    @JsonDeserialize(using = ObjectIdDeserializer.class)
     private ObjectId id;
     private String firstName;
     private String lastName;
     private String email;
+    // Accepted on create, never written back out.
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
-    @JsonSerialize(using = ToStringSerializer.class)
+    @JsonSerialize(contentUsing = ObjectIdSerializer.class)
+    @JsonDeserialize(contentUsing = ObjectIdDeserializer.class)
     private ArrayList<ObjectId> taskIds;
 }
@@ -1,7 +1,9 @@
 package com.example.reactive_backend.model;
 
+import com.example.reactive_backend.serialization.ObjectIdDeserializer;
+import com.example.reactive_backend.serialization.ObjectIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.*;
 import lombok.extern.jackson.Jacksonized;
 import org.bson.types.ObjectId;
@@ -16,7 +18,8 @@ import java.util.List;
 @Builder(toBuilder = true)
 public class UserAccountDTO {
     @Id
-    @JsonSerialize(using = ToStringSerializer.class)
+    @JsonSerialize(using = ObjectIdSerializer.class)
+    @JsonDeserialize(using = ObjectIdDeserializer.class)
     private ObjectId id;
     private String firstName;
     private String lastName;
@@ -0,0 +1,15 @@
+package com.example.reactive_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAccountWithTasks {
+    private UserAccount userAccount;
+    private List<Task> tasks;
+}
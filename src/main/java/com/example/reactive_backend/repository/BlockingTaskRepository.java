@@ -0,0 +1,136 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.durability.WriteDurability;
+import com.example.reactive_backend.durability.WriteOperation;
+import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+
+/**
+ * Same contract as {@link TaskRepository}, but every call is a plain synchronous driver call through
+ * {@link MongoTemplate}, run on the storage scheduler (virtual threads on JDK 21+).
+ */
+@Slf4j
+public class BlockingTaskRepository extends MongoTaskRepository {
+    private final MongoTemplate mongoTemplate;
+    private final Scheduler scheduler;
+    private final WriteDurability writeDurability;
+
+    public BlockingTaskRepository(ReactiveMongoTemplate reactiveMongoTemplate, MongoTemplate mongoTemplate, Scheduler scheduler, WriteDurability writeDurability) {
+        super(reactiveMongoTemplate, writeDurability);
+        this.mongoTemplate = mongoTemplate;
+        this.scheduler = scheduler;
+        this.writeDurability = writeDurability;
+    }
+
+    @Override
+    public Mono<Task> getOneTask(ObjectId id) {
+        return Mono.fromCallable(() -> mongoTemplate.findById(id, Task.class))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Searching for a Task with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Found Task with id: %s".formatted(id)))
+                .doOnError(err -> log.error("Could not find task with id: %s".formatted(id)))
+                .onErrorMap(err -> new DatabaseException("An unexpected error occurred."));
+    }
+
+    @Override
+    public Flux<Task> getAllTasks() {
+        return Flux.fromStream(() -> mongoTemplate.stream(new Query(), Task.class))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection"))
+                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection"))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    @Override
+    public Flux<Task> findTasks(TaskQuery query) {
+        return Flux.fromStream(() -> mongoTemplate.stream(query.toMongoQuery(), Task.class))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve Tasks matching %s".formatted(query)))
+                .doOnComplete(() -> log.info("Successfully retrieved Tasks matching %s".formatted(query)))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    @Override
+    public Mono<Long> countTasks() {
+        return Mono.fromCallable(() -> mongoTemplate.estimatedCount(Task.class))
+                .subscribeOn(scheduler)
+                .onErrorMap(err -> new DatabaseException("An error occurred while counting the Tasks: ", err));
+    }
+
+    @Override
+    public Mono<Long> countTasks(TaskQuery query) {
+        return Mono.fromCallable(() -> mongoTemplate.count(query.toMongoQuery(), Task.class))
+                .subscribeOn(scheduler)
+                .onErrorMap(err -> new DatabaseException("An error occurred while counting the Tasks: ", err));
+    }
+
+    @Override
+    public Flux<Task> getAllTasksForOneUserAccount(ObjectId id) {
+        Query query = new Query(Criteria.where("userId").is(id));
+        return Flux.fromStream(() -> mongoTemplate.stream(query, Task.class))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection with userId: %s".formatted(id)))
+                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection with userId: %s".formatted(id)))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    @Override
+    public Mono<Task> createOneTask(Task newTask) {
+        return Mono.fromCallable(() -> writeDurability.writeBlocking(WriteOperation.TASK_CREATE, mongoTemplate, template -> template.insert(newTask)))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Creating new Document in 'Tasks' Collection"))
+                .doOnSuccess(suc -> log.info("Successfully inserted task with into Collection."))
+                .doOnError(err -> log.error("Could not insert Document into 'Tasks' Collection", err))
+                .onErrorMap(err -> new CouldNotInsertException("Could not insert Document into 'Tasks' Collection"));
+    }
+
+    @Override
+    public Flux<Task> createTasks(ArrayList<Task> tasks) {
+        return Flux.defer(() -> Flux.fromIterable(writeDurability.writeBlocking(WriteOperation.TASK_CREATE_BULK, mongoTemplate, template -> template.insertAll(tasks))))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Attempting to insert group of Documents into 'Tasks' Collection."))
+                .doOnComplete(() -> log.info("Successfully inserted group of Documents into 'Tasks' Collection"))
+                .doOnError(err -> log.error("Could not insert Documents into 'Tasks' Collection."))
+                .onErrorMap(err -> new CouldNotInsertException("Could not insert Documents into 'Tasks' Collection."));
+    }
+
+    @Override
+    public Mono<Task> updateOneTask(ObjectId id, Task task) {
+        FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true);
+        Query query = new Query(Criteria.where("_id").is(id));
+
+        return Mono.fromCallable(() -> writeDurability.writeBlocking(WriteOperation.TASK_UPDATE, mongoTemplate, template -> template.findAndModify(query, updateFor(task), options, Task.class)))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Attempting to update Document with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Successfully updated Document with id: %s".formatted(id)))
+                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
+                .onErrorMap(err -> new CouldNotUpdateException("Could not update Document with id: %s".formatted(id)));
+    }
+
+    @Override
+    public Mono<Task> deleteOneTask(ObjectId id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+
+        return Mono.fromCallable(() -> writeDurability.writeBlocking(WriteOperation.TASK_DELETE, mongoTemplate, template -> template.findAndRemove(query, Task.class)))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Attempting to delete Document with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Successfully deleted Document with id: %s".formatted(id)))
+                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
+                .onErrorMap(err -> new CouldNotDeleteException("Could not delete Document with id: %s".formatted(id)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.durability.WriteDurability;
+import com.example.reactive_backend.durability.WriteOperation;
+import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.model.UserAccount;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Same contract as {@link UserAccountRepository}, but every call is a plain synchronous driver call through
+ * {@link MongoTemplate}, run on the storage scheduler (virtual threads on JDK 21+).
+ */
+@Slf4j
+public class BlockingUserAccountRepository extends MongoUserAccountRepository {
+    private final MongoTemplate mongoTemplate;
+    private final Scheduler scheduler;
+    private final WriteDurability writeDurability;
+
+    public BlockingUserAccountRepository(ReactiveMongoTemplate reactiveMongoTemplate, MongoTemplate mongoTemplate, Scheduler scheduler, WriteDurability writeDurability) {
+        super(reactiveMongoTemplate, writeDurability);
+        this.mongoTemplate = mongoTemplate;
+        this.scheduler = scheduler;
+        this.writeDurability = writeDurability;
+    }
+
+    @Override
+    public Mono<UserAccount> retrieveUserAccount(ObjectId id) {
+        return Mono.fromCallable(() -> mongoTemplate.findById(id, UserAccount.class))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Searching for User Account with ID: %s".formatted(id)))
+                .doOnSuccess(acc -> {
+                    if(acc != null) log.info("Retrieved User Account with ID: %s".formatted(id));
+                })
+                .doOnError(err -> log.error("An error occurred while searching for User Account with ID: %s \nError: %s".formatted(id, err.toString())))
+                .onErrorMap(err -> new DatabaseException("An error occurred while searching for User Account with ID: %s".formatted(id), err));
+    }
+
+    @Override
+    public Mono<UserAccount> findByEmail(String email) {
+        return Mono.fromCallable(() -> mongoTemplate.findOne(Query.query(Criteria.where("email").is(email)), UserAccount.class))
+                .subscribeOn(scheduler)
+                .doOnError(err -> log.error("An error occurred while searching for User Account by email \nError: %s".formatted(err.toString())))
+                .onErrorMap(err -> new DatabaseException("An error occurred while searching for User Account by email", err));
+    }
+
+    @Override
+    public Mono<UserAccount> createNewUserAccount(UserAccount userAccountInfo) {
+        return Mono.fromCallable(() -> writeDurability.writeBlocking(WriteOperation.USER_ACCOUNT_CREATE, mongoTemplate, template -> template.insert(userAccountInfo)))
+                .subscribeOn(scheduler)
+                .doOnSubscribe(sub -> log.info("Attempting to create new User Account."))
+                .doOnSuccess(acc -> log.info("Successfully created new User Account."))
+                .doOnError(err -> log.error("An error occurred while trying to create new User Account: %s".formatted(err)))
+                .onErrorMap(err -> insertError(userAccountInfo, err));
+    }
+
+    @Override
+    public Mono<Boolean> deleteUserAccount(ObjectId id) {
+        return Mono.fromCallable(() -> writeDurability.writeBlocking(WriteOperation.USER_ACCOUNT_DELETE, mongoTemplate,
+                        template -> template.remove(Query.query(Criteria.where("_id").is(id)), UserAccount.class)))
+                .subscribeOn(scheduler)
+                .map(result -> result.getDeletedCount() > 0)
+                .doOnError(err -> log.error("An error occurred while deleting User Account with ID: %s \nError: %s".formatted(id, err.toString())))
+                .onErrorMap(err -> new CouldNotDeleteException("Could not delete User Account with ID: %s".formatted(id)));
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(ObjectId id, String encodedPassword) {
+        return Mono.fromCallable(() -> writeDurability.writeBlocking(WriteOperation.USER_ACCOUNT_UPDATE, mongoTemplate,
+                        template -> template.updateFirst(Query.query(Criteria.where("_id").is(id)), Update.update("password", encodedPassword), UserAccount.class)))
+                .subscribeOn(scheduler)
+                .map(result -> result.getMatchedCount() > 0)
+                .doOnError(err -> log.error("An error occurred while updating the password of User Account with ID: %s \nError: %s".formatted(id, err.toString())))
+                .onErrorMap(err -> new CouldNotUpdateException("An error occurred while updating the password of User Account with ID: %s".formatted(id)));
+    }
+}
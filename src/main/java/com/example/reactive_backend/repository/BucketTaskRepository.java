@@ -0,0 +1,259 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.durability.WriteDurability;
+import com.example.reactive_backend.durability.WriteOperation;
+import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Same contract as {@link TaskRepository}, but a user's Tasks are embedded in bucket documents of at most
+ * {@code capacity} Tasks each:
+ * <pre>{ _id, userId, count, tasks: [ { _id, title, description, completed, userId }, ... ] }</pre>
+ * Buckets are read in {@code _id} order, which is their creation order, so a user's Tasks come back as
+ * a handful of contiguous documents instead of one document per Task.
+ */
+@Slf4j
+public class BucketTaskRepository extends MongoTaskRepository {
+    public static final String BUCKET_COLLECTION = "task_buckets";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final int capacity;
+    private final WriteDurability writeDurability;
+
+    public BucketTaskRepository(ReactiveMongoTemplate mongoTemplate, int capacity) {
+        this(mongoTemplate, capacity, WriteDurability.clientDefault());
+    }
+
+    public BucketTaskRepository(ReactiveMongoTemplate mongoTemplate, int capacity, WriteDurability writeDurability) {
+        super(mongoTemplate, writeDurability);
+        this.mongoTemplate = mongoTemplate;
+        this.capacity = capacity;
+        this.writeDurability = writeDurability;
+    }
+
+    // Open-bucket lookup on insert, Task lookup by id, and the userId-ordered profile read.
+    public static Mono<Void> ensureIndexes(ReactiveMongoTemplate mongoTemplate) {
+        return Flux.concat(
+                        mongoTemplate.indexOps(BUCKET_COLLECTION).ensureIndex(new Index().on("userId", Sort.Direction.ASC).on("count", Sort.Direction.ASC)),
+                        mongoTemplate.indexOps(BUCKET_COLLECTION).ensureIndex(new Index().on("userId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)),
+                        mongoTemplate.indexOps(BUCKET_COLLECTION).ensureIndex(new Index().on("tasks._id", Sort.Direction.ASC)))
+                .then();
+    }
+
+    @Override
+    public Mono<Task> getOneTask(ObjectId id) {
+        Query query = new Query(Criteria.where("tasks._id").is(id));
+        query.fields().position("tasks", 1);
+
+        return mongoTemplate.findOne(query, Document.class, BUCKET_COLLECTION)
+                .mapNotNull(bucket -> embeddedTask(bucket, id))
+                .doOnSubscribe(sub -> log.info("Searching for a Task with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Found Task with id: %s".formatted(id)))
+                .doOnError(err -> log.error("Could not find task with id: %s".formatted(id)))
+                .onErrorMap(err -> new DatabaseException("An unexpected error occurred."));
+    }
+
+    @Override
+    public Flux<Task> getAllTasks() {
+        return readBuckets(new Query())
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection"))
+                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection"))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    // Embedded Tasks have no indexes of their own, the user's buckets are filtered and sorted in memory.
+    @Override
+    public Flux<Task> findTasks(TaskQuery query) {
+        return query.applyTo(query.userId() == null ? getAllTasks() : getAllTasksForOneUserAccount(query.userId()));
+    }
+
+    // Every bucket keeps the number of Tasks it holds, totals are a sum over the buckets instead of a read of every Task.
+    @Override
+    public Mono<Long> countTasks() {
+        return sumBucketCounts(new Criteria());
+    }
+
+    @Override
+    public Mono<Long> countTasks(TaskQuery query) {
+        if(query.userId() != null && query.completed() == null && query.titlePrefix() == null) {
+            return sumBucketCounts(Criteria.where("userId").is(query.userId()));
+        }
+        return findTasks(query).count();
+    }
+
+    @Override
+    public Flux<ObjectId> streamIds() {
+        Query query = new Query();
+        query.fields().include("tasks._id");
+
+        return mongoTemplate.find(query, Document.class, BUCKET_COLLECTION)
+                .concatMapIterable(bucket -> bucket.getList("tasks", Document.class, List.of()))
+                .map(task -> task.getObjectId("_id"))
+                .onErrorMap(err -> new DatabaseException("An error occurred while reading the Task ids: ", err));
+    }
+
+    @Override
+    public Flux<Task> getAllTasksForOneUserAccount(ObjectId id) {
+        return readBuckets(new Query(Criteria.where("userId").is(id)))
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection with userId: %s".formatted(id)))
+                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection with userId: %s".formatted(id)))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    @Override
+    public Mono<Task> createOneTask(Task newTask) {
+        return insertEmbedded(newTask, WriteOperation.TASK_CREATE)
+                .doOnSubscribe(sub -> log.info("Creating new Document in 'Tasks' Collection"))
+                .doOnSuccess(suc -> log.info("Successfully inserted task with into Collection."))
+                .doOnError(err -> log.error("Could not insert Document into 'Tasks' Collection", err))
+                .onErrorMap(err -> new CouldNotInsertException("Could not insert Document into 'Tasks' Collection"));
+    }
+
+    @Override
+    public Flux<Task> createTasks(ArrayList<Task> tasks) {
+        // One at a time so each Task sees the fill level left by the previous one.
+        return Flux.fromIterable(tasks)
+                .concatMap(task -> insertEmbedded(task, WriteOperation.TASK_CREATE_BULK))
+                .doOnSubscribe(sub -> log.info("Attempting to insert group of Documents into 'Tasks' Collection."))
+                .doOnComplete(() -> log.info("Successfully inserted group of Documents into 'Tasks' Collection"))
+                .doOnError(err -> log.error("Could not insert Documents into 'Tasks' Collection."))
+                .onErrorMap(err -> new CouldNotInsertException("Could not insert Documents into 'Tasks' Collection."));
+    }
+
+    @Override
+    public Mono<Task> updateOneTask(ObjectId id, Task task) {
+        Query query = new Query(Criteria.where("tasks._id").is(id));
+        query.fields().position("tasks", 1);
+
+        // A changed userId moves the Task to a bucket of the new owner; that is a pull plus a push, not atomic.
+        return mongoTemplate.findOne(query, Document.class, BUCKET_COLLECTION)
+                .mapNotNull(bucket -> embeddedTask(bucket, id))
+                .flatMap(current -> Objects.equals(current.getUserId(), task.getUserId())
+                        ? updateInPlace(id, task)
+                        : removeEmbedded(id, WriteOperation.TASK_UPDATE).then(insertEmbedded(task.toBuilder()
+                                .id(id)
+                                .completedAt(task.isCompleted() ? Objects.requireNonNullElseGet(current.getCompletedAt(), Instant::now) : null)
+                                .version(current.getVersion() == null ? 1L : current.getVersion() + 1)
+                                .build(), WriteOperation.TASK_UPDATE)))
+                .doOnSubscribe(sub -> log.info("Attempting to update Document with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Successfully updated Document with id: %s".formatted(id)))
+                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
+                .onErrorMap(err -> new CouldNotUpdateException("Could not update Document with id: %s".formatted(id)));
+    }
+
+    // Each removal also has to decrement its bucket's count, so Tasks are pulled one at a time.
+    @Override
+    public Mono<Long> deleteTasks(ObjectId userId, List<ObjectId> ids) {
+        return Flux.fromIterable(ids)
+                .concatMap(id -> removeEmbedded(new Query(Criteria.where("tasks._id").is(id).and("userId").is(userId)), id, WriteOperation.TASK_DELETE))
+                .count()
+                .doOnError(err -> log.error("An error occurred while deleting %d Tasks: %s".formatted(ids.size(), err.toString())))
+                .onErrorMap(err -> new CouldNotDeleteException("Could not delete %d Tasks.".formatted(ids.size())));
+    }
+
+    @Override
+    public Mono<Task> deleteOneTask(ObjectId id) {
+        return removeEmbedded(id, WriteOperation.TASK_DELETE)
+                .doOnSubscribe(sub -> log.info("Attempting to delete Document with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Successfully deleted Document with id: %s".formatted(id)))
+                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
+                .onErrorMap(err -> new CouldNotDeleteException("Could not delete Document with id: %s".formatted(id)));
+    }
+
+    private Flux<Task> readBuckets(Query query) {
+        return mongoTemplate.find(query.with(Sort.by("userId", "_id")), Document.class, BUCKET_COLLECTION)
+                .flatMapIterable(bucket -> bucket.getList("tasks", Document.class, List.of()))
+                .map(this::toTask);
+    }
+
+    private Mono<Long> sumBucketCounts(Criteria criteria) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(criteria), Aggregation.group().sum("count").as("total"));
+        return mongoTemplate.aggregate(aggregation, BUCKET_COLLECTION, Document.class)
+                .next()
+                .map(result -> ((Number) result.get("total")).longValue())
+                .defaultIfEmpty(0L)
+                .onErrorMap(err -> new DatabaseException("An error occurred while counting the Tasks: ", err));
+    }
+
+    private Mono<Task> insertEmbedded(Task task, WriteOperation operation) {
+        return Mono.defer(() -> {
+            Task stored = task.toBuilder()
+                    .id(task.getId() == null ? new ObjectId() : task.getId())
+                    .version(task.getVersion() == null ? 0L : task.getVersion())
+                    .build();
+
+            // Fills a bucket of the user that has room left; when all are full the upsert starts a new one.
+            Query openBucket = new Query(Criteria.where("userId").is(stored.getUserId()).and("count").lt(capacity));
+            Update push = new Update().push("tasks", toDocument(stored)).inc("count", 1);
+
+            return writeDurability.write(operation, mongoTemplate, template -> template.upsert(openBucket, push, BUCKET_COLLECTION)).thenReturn(stored);
+        });
+    }
+
+    private Mono<Task> updateInPlace(ObjectId id, Task task) {
+        Query query = new Query(Criteria.where("tasks._id").is(id));
+        Update update = new Update()
+                .set("tasks.$.description", task.getDescription())
+                .set("tasks.$.title", task.getTitle())
+                .set("tasks.$.completed", task.isCompleted())
+                .inc("tasks.$.version", 1);
+        if(task.isCompleted()) update.min("tasks.$.completedAt", Instant.now());
+        else update.unset("tasks.$.completedAt");
+
+        return writeDurability.write(WriteOperation.TASK_UPDATE, mongoTemplate,
+                        template -> template.findAndModify(query, update, new FindAndModifyOptions().returnNew(true), Document.class, BUCKET_COLLECTION))
+                .mapNotNull(bucket -> embeddedTask(bucket, id));
+    }
+
+    private Mono<Task> removeEmbedded(ObjectId id, WriteOperation operation) {
+        return removeEmbedded(new Query(Criteria.where("tasks._id").is(id)), id, operation);
+    }
+
+    private Mono<Task> removeEmbedded(Query query, ObjectId id, WriteOperation operation) {
+        Update pull = new Update().pull("tasks", new Document("_id", id)).inc("count", -1);
+
+        // The pre-image still holds the removed Task.
+        return writeDurability.write(operation, mongoTemplate, template -> template.findAndModify(query, pull, Document.class, BUCKET_COLLECTION))
+                .mapNotNull(bucket -> embeddedTask(bucket, id));
+    }
+
+    private Task embeddedTask(Document bucket, ObjectId id) {
+        return bucket.getList("tasks", Document.class, List.of()).stream()
+                .filter(embedded -> id.equals(embedded.getObjectId("_id")))
+                .findFirst()
+                .map(this::toTask)
+                .orElse(null);
+    }
+
+    private Task toTask(Document embedded) {
+        return mongoTemplate.getConverter().read(Task.class, embedded);
+    }
+
+    private Document toDocument(Task task) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(task, document);
+        document.remove("_class");
+        return document;
+    }
+}
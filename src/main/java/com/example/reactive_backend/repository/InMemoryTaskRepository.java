@@ -0,0 +1,177 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-process adapter of {@link TaskRepository}. Tasks live in a concurrent skip list keyed by id, which keeps
+ * scans in creation order like Mongo's natural order, with a secondary index of Task ids per userId.
+ * <p>
+ * Reads never lock. Writes to the same Task are serialized on one of {@value #STRIPES} lock stripes, so the
+ * primary map and the userId index change together; a reader racing a userId change re-checks the owner of
+ * every indexed Task. Tasks are copied on the way in and out, callers never share the stored instances.
+ */
+@Slf4j
+public class InMemoryTaskRepository implements TaskRepository {
+    private static final int STRIPES = 64;
+
+    private final ConcurrentSkipListMap<ObjectId, Task> tasks = new ConcurrentSkipListMap<>();
+    private final Map<ObjectId, NavigableSet<ObjectId>> taskIdsByUser = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+
+    public InMemoryTaskRepository() {
+        for(int i = 0; i < STRIPES; i++) stripes[i] = new Object();
+    }
+
+    @Override
+    public Mono<Task> getOneTask(ObjectId id) {
+        return Mono.fromSupplier(() -> copy(tasks.get(id)));
+    }
+
+    @Override
+    public Flux<ObjectId> streamIds() {
+        return Flux.fromIterable(tasks.keySet());
+    }
+
+    @Override
+    public Flux<Task> getAllTasks() {
+        return Flux.defer(() -> Flux.fromIterable(tasks.values()).map(InMemoryTaskRepository::copy));
+    }
+
+    @Override
+    public Mono<Long> countTasks() {
+        return Mono.fromSupplier(() -> (long) tasks.size());
+    }
+
+    @Override
+    public Flux<Task> getAllTasksForOneUserAccount(ObjectId id) {
+        return Flux.defer(() -> Flux.fromIterable(taskIdsByUser.getOrDefault(id, new ConcurrentSkipListSet<>())))
+                .mapNotNull(tasks::get)
+                .filter(task -> id.equals(task.getUserId()))
+                .map(InMemoryTaskRepository::copy);
+    }
+
+    @Override
+    public Mono<Task> createOneTask(Task newTask) {
+        return Mono.fromCallable(() -> insert(newTask))
+                .doOnError(err -> log.error("Could not insert Task into the in-memory store: %s".formatted(err.getMessage())));
+    }
+
+    @Override
+    public Flux<Task> createTasks(ArrayList<Task> newTasks) {
+        // Like an ordered insertMany: stops at the first duplicate, the Tasks before it stay inserted.
+        return Flux.defer(() -> Flux.fromIterable(List.copyOf(newTasks)))
+                .map(this::insert)
+                .doOnError(err -> log.error("Could not insert Tasks into the in-memory store: %s".formatted(err.getMessage())));
+    }
+
+    @Override
+    public Mono<Task> updateOneTask(ObjectId id, Task task) {
+        return Mono.fromSupplier(() -> {
+            synchronized (stripe(id)) {
+                Task current = tasks.get(id);
+                if(current == null) return null;
+
+                Instant completedAt = task.isCompleted() ? Objects.requireNonNullElseGet(current.getCompletedAt(), Instant::now) : null;
+                Task updated = current.toBuilder()
+                        .title(task.getTitle())
+                        .description(task.getDescription())
+                        .completed(task.isCompleted())
+                        .userId(task.getUserId())
+                        .completedAt(completedAt)
+                        .version(current.getVersion() == null ? 1L : current.getVersion() + 1)
+                        .build();
+
+                tasks.put(id, updated);
+                if(!Objects.equals(current.getUserId(), updated.getUserId())) {
+                    unindex(current);
+                    index(updated);
+                }
+                return copy(updated);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Task> deleteOneTask(ObjectId id) {
+        return Mono.fromSupplier(() -> {
+            synchronized (stripe(id)) {
+                Task removed = tasks.remove(id);
+                if(removed != null) unindex(removed);
+                return removed;
+            }
+        });
+    }
+
+    @Override
+    public Mono<Long> deleteTasks(ObjectId userId, List<ObjectId> ids) {
+        return Mono.fromSupplier(() -> ids.stream().filter(id -> {
+            synchronized (stripe(id)) {
+                Task task = tasks.get(id);
+                if(task == null || !userId.equals(task.getUserId())) return false;
+                tasks.remove(id);
+                unindex(task);
+                return true;
+            }
+        }).count());
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    private Task insert(Task newTask) {
+        Task stored = newTask.toBuilder()
+                .id(newTask.getId() == null ? new ObjectId() : newTask.getId())
+                .version(newTask.getVersion() == null ? 0L : newTask.getVersion())
+                .build();
+
+        synchronized (stripe(stored.getId())) {
+            if(tasks.putIfAbsent(stored.getId(), stored) != null) {
+                throw new CouldNotInsertException("A Task with id: %s already exists.".formatted(stored.getId()));
+            }
+            index(stored);
+        }
+        return copy(stored);
+    }
+
+    private void index(Task task) {
+        if(task.getUserId() == null) return;
+        // Added inside compute: an unindex removing the user's emptied set cannot interleave with the add.
+        taskIdsByUser.compute(task.getUserId(), (user, ids) -> {
+            NavigableSet<ObjectId> userTaskIds = ids == null ? new ConcurrentSkipListSet<>() : ids;
+            userTaskIds.add(task.getId());
+            return userTaskIds;
+        });
+    }
+
+    private void unindex(Task task) {
+        if(task.getUserId() == null) return;
+        taskIdsByUser.computeIfPresent(task.getUserId(), (user, ids) -> {
+            ids.remove(task.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private Object stripe(ObjectId id) {
+        return stripes[Math.floorMod(id.hashCode(), STRIPES)];
+    }
+
+    private static Task copy(Task task) {
+        return task == null ? null : task.toBuilder().build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.errorhandling.exception.ConflictException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.model.UserAccount;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process adapter of {@link UserAccountRepository}. User Accounts are copied on the way in and out.
+ */
+public class InMemoryUserAccountRepository implements UserAccountRepository {
+    private final Map<ObjectId, UserAccount> userAccounts = new ConcurrentHashMap<>();
+    // Plays the part of the unique email index.
+    private final Map<String, ObjectId> idsByEmail = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<UserAccount> retrieveUserAccount(ObjectId id) {
+        return Mono.fromSupplier(() -> copy(userAccounts.get(id)));
+    }
+
+    @Override
+    public Flux<ObjectId> streamIds() {
+        return Flux.fromIterable(userAccounts.keySet());
+    }
+
+    @Override
+    public Flux<UserAccount> getAllUserAccounts() {
+        return Flux.defer(() -> Flux.fromIterable(userAccounts.values()).map(InMemoryUserAccountRepository::copy));
+    }
+
+    @Override
+    public Mono<UserAccount> findByEmail(String email) {
+        return Mono.fromSupplier(() -> {
+            ObjectId id = idsByEmail.get(email);
+            return id == null ? null : copy(userAccounts.get(id));
+        });
+    }
+
+    @Override
+    public Mono<UserAccount> createNewUserAccount(UserAccount userAccountInfo) {
+        return Mono.fromCallable(() -> {
+            UserAccount stored = copy(userAccountInfo);
+            if(stored.getId() == null) stored.setId(new ObjectId());
+
+            String email = stored.getEmail();
+            if(email != null && idsByEmail.putIfAbsent(email, stored.getId()) != null) {
+                throw new ConflictException("A User Account with the email: %s already exists.".formatted(email));
+            }
+            if(userAccounts.putIfAbsent(stored.getId(), stored) != null) {
+                if(email != null) idsByEmail.remove(email, stored.getId());
+                throw new CouldNotInsertException("A User Account with id: %s already exists.".formatted(stored.getId()));
+            }
+            return copy(stored);
+        });
+    }
+
+    @Override
+    public Mono<Boolean> deleteUserAccount(ObjectId id) {
+        return Mono.fromSupplier(() -> {
+            UserAccount removed = userAccounts.remove(id);
+            if(removed != null && removed.getEmail() != null) idsByEmail.remove(removed.getEmail(), id);
+            return removed != null;
+        });
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(ObjectId id, String encodedPassword) {
+        return Mono.fromSupplier(() -> userAccounts.computeIfPresent(id, (key, stored) -> {
+            stored.setPassword(encodedPassword);
+            return stored;
+        }) != null);
+    }
+
+    private static UserAccount copy(UserAccount userAccount) {
+        if(userAccount == null) return null;
+
+        UserAccount copy = userAccount.toBuilder().build();
+        if(userAccount.getTaskIds() != null) copy.setTaskIds(new ArrayList<>(userAccount.getTaskIds()));
+        return copy;
+    }
+}
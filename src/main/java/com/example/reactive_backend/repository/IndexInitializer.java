@@ -0,0 +1,59 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.archive.ArchiveProperties;
+import com.example.reactive_backend.archive.TaskArchiver;
+import com.example.reactive_backend.config.StorageProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes the active storage layout relies on. Runs in the background: a missing index makes
+ * queries slower, it should not keep the application from starting.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexInitializer implements ApplicationRunner {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final StorageProperties storage;
+    private final ArchiveProperties archive;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if(storage.getEngine() != StorageProperties.Engine.MONGO) return;
+
+        // Fails while duplicate emails exist; they have to be resolved by hand before uniqueness can be enforced.
+        MongoUserAccountRepository.normalizeEmails(mongoTemplate)
+                .doOnNext(normalized -> {
+                    if(normalized > 0) log.info("Normalized the email of %d User Accounts".formatted(normalized));
+                })
+                .then(MongoUserAccountRepository.ensureIndexes(mongoTemplate))
+                .subscribe(null,
+                        err -> log.error("Could not create the '%s' index: %s".formatted(MongoUserAccountRepository.EMAIL_INDEX, err.toString())),
+                        () -> log.info("Index '%s' is in place".formatted(MongoUserAccountRepository.EMAIL_INDEX)));
+
+        if(storage.getLayout() == StorageProperties.Layout.BUCKET) {
+            BucketTaskRepository.ensureIndexes(mongoTemplate)
+                    .subscribe(null,
+                            err -> log.error("Could not create the '%s' indexes: %s".formatted(BucketTaskRepository.BUCKET_COLLECTION, err.toString())),
+                            () -> log.info("Indexes on '%s' are in place".formatted(BucketTaskRepository.BUCKET_COLLECTION)));
+            return;
+        }
+
+        TaskQueryPlanner.ensureIndexes(mongoTemplate)
+                .subscribe(null,
+                        err -> log.error("Could not create the Task listing indexes: %s".formatted(err.toString())),
+                        () -> log.info("Task listing indexes are in place"));
+
+        if(archive.isEnabled()) {
+            TaskArchiver.ensureIndexes(mongoTemplate)
+                    .subscribe(null,
+                            err -> log.error("Could not create the archiving indexes: %s".formatted(err.toString())),
+                            () -> log.info("Archiving indexes are in place"));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.durability.WriteDurability;
+import com.example.reactive_backend.durability.WriteOperation;
+import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.model.Task;
+import com.mongodb.client.result.DeleteResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MongoDB adapter of {@link TaskRepository}, one document per Task in 'tasks'.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MongoTaskRepository implements TaskRepository {
+    // Completed Tasks moved out of 'tasks' by the TaskArchiver.
+    public static final String ARCHIVE_COLLECTION = "tasks_archive";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final WriteDurability writeDurability;
+
+    public MongoTaskRepository(ReactiveMongoTemplate mongoTemplate) {
+        this(mongoTemplate, WriteDurability.clientDefault());
+    }
+
+    @Override
+    public Mono<Task> getOneTask(ObjectId id) {
+        return mongoTemplate.findById(id, Task.class)
+                .doOnSubscribe(sub -> log.info("Searching for a Task with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Found Task with id: %s".formatted(id)))
+                .doOnError(err -> log.error("Could not find task with id: %s".formatted(id)))
+                .onErrorMap(err -> new DatabaseException("An unexpected error occurred."));
+    }
+
+    @Override
+    public Flux<Task> getAllTasks() {
+        return mongoTemplate.findAll(Task.class)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection"))
+                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection"))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    @Override
+    public Flux<Task> findTasks(TaskQuery query) {
+        return mongoTemplate.find(query.toMongoQuery(), Task.class)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve Tasks matching %s".formatted(query)))
+                .doOnComplete(() -> log.info("Successfully retrieved Tasks matching %s".formatted(query)))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    // From the collection metadata: no scan, but it can be off after an unclean shutdown or with orphaned shard documents.
+    @Override
+    public Mono<Long> countTasks() {
+        return mongoTemplate.estimatedCount(Task.class)
+                .onErrorMap(err -> new DatabaseException("An error occurred while counting the Tasks: ", err));
+    }
+
+    @Override
+    public Mono<Long> countTasks(TaskQuery query) {
+        return mongoTemplate.count(query.toMongoQuery(), Task.class)
+                .onErrorMap(err -> new DatabaseException("An error occurred while counting the Tasks: ", err));
+    }
+
+    @Override
+    public Flux<ObjectId> streamIds() {
+        Query query = new Query();
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Task.class))
+                .map(document -> document.getObjectId("_id"))
+                .onErrorMap(err -> new DatabaseException("An error occurred while reading the Task ids: ", err));
+    }
+
+    @Override
+    public Flux<Task> getAllTasksForOneUserAccount(ObjectId id) {
+        Query query = new Query(Criteria.where("userId").is(id));
+        return mongoTemplate.find(query, Task.class)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection with userId: %s".formatted(id)))
+                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection with userId: %s".formatted(id)))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    @Override
+    public Mono<Task> getOneTaskIncludingArchive(ObjectId id) {
+        return getOneTask(id)
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.findById(id, Task.class, ARCHIVE_COLLECTION)
+                        .doOnSubscribe(sub -> log.info("Task with id: %s is not in the hot Collection, searching the archive".formatted(id)))
+                        .onErrorMap(err -> new DatabaseException("An unexpected error occurred."))));
+    }
+
+    @Override
+    public Flux<Task> getAllTasksForOneUserAccountIncludingArchive(ObjectId id) {
+        Query query = new Query(Criteria.where("userId").is(id));
+        return getAllTasksForOneUserAccount(id)
+                .concatWith(mongoTemplate.find(query, Task.class, ARCHIVE_COLLECTION)
+                        .doOnSubscribe(sub -> log.info("Attempting to retrieve archived tasks with userId: %s".formatted(id)))
+                        .onErrorMap(err -> new DatabaseException("An error occurred: ", err)));
+    }
+
+    @Override
+    public Flux<Task> getAllArchivedTasks() {
+        return mongoTemplate.findAll(Task.class, ARCHIVE_COLLECTION)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all archived tasks"))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    @Override
+    public Flux<Task> createArchivedTasks(ArrayList<Task> tasks) {
+        return writeDurability.writeAll(WriteOperation.TASK_CREATE_BULK, mongoTemplate, template -> template.insert(tasks, ARCHIVE_COLLECTION))
+                .doOnError(err -> log.error("Could not insert Documents into '%s' Collection.".formatted(ARCHIVE_COLLECTION)))
+                .onErrorMap(err -> new CouldNotInsertException("Could not insert Documents into '%s' Collection.".formatted(ARCHIVE_COLLECTION)));
+    }
+
+    @Override
+    public Mono<Task> createOneTask(Task newTask) {
+        return writeDurability.write(WriteOperation.TASK_CREATE, mongoTemplate, template -> template.insert(newTask))
+                .doOnSubscribe(sub -> log.info("Creating new Document in 'Tasks' Collection"))
+                .doOnSuccess(suc -> log.info("Successfully inserted task with into Collection."))
+                .doOnError(err -> log.error("Could not insert Document into 'Tasks' Collection", err))
+                .onErrorMap(err -> new CouldNotInsertException("Could not insert Document into 'Tasks' Collection"));
+    }
+
+    @Override
+    public Flux<Task> createTasks(ArrayList<Task> tasks) {
+        return writeDurability.writeAll(WriteOperation.TASK_CREATE_BULK, mongoTemplate, template -> template.insertAll(tasks))
+                .doOnSubscribe(sub -> log.info("Attempting to insert group of Documents into 'Tasks' Collection."))
+                .doOnComplete(() -> log.info("Successfully inserted group of Documents into 'Tasks' Collection"))
+                .doOnError(err -> log.error("Could not insert Documents into 'Tasks' Collection."))
+                .onErrorMap(err -> new CouldNotInsertException("Could not insert Documents into 'Tasks' Collection."));
+    }
+
+    @Override
+    public Mono<Task> updateOneTask(ObjectId id, Task task) {
+        FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true);
+        Query query = new Query(Criteria.where("_id").is(id));
+
+        return writeDurability.write(WriteOperation.TASK_UPDATE, mongoTemplate, template -> template.findAndModify(query, updateFor(task), options, Task.class))
+                .doOnSubscribe(sub -> log.info("Attempting to update Document with id: %s".formatted(id)))
+                .flatMap(res -> {
+                    if(res == null) return Mono.empty();
+
+                    return Mono.just(res);
+                })
+                .doOnSuccess(suc -> log.info("Successfully updated Document with id: %s".formatted(id)))
+                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
+                .onErrorMap(err -> new CouldNotUpdateException("Could not update Document with id: %s".formatted(id)));
+    }
+
+    @Override
+    public Mono<Task> deleteOneTask(ObjectId id) {
+        Query query = new Query(Criteria.where("_id").is(id));
+
+        return writeDurability.write(WriteOperation.TASK_DELETE, mongoTemplate, template -> template.findAndRemove(query, Task.class))
+                .doOnSubscribe(sub -> log.info("Attempting to delete Document with id: %s".formatted(id)))
+                .doOnSuccess(suc -> log.info("Successfully deleted Document with id: %s".formatted(id)))
+                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
+                .onErrorMap(err -> new CouldNotDeleteException("Could not delete Document with id: %s".formatted(id)));
+    }
+
+    @Override
+    public Mono<Long> deleteTasks(ObjectId userId, List<ObjectId> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids).and("userId").is(userId));
+        return writeDurability.write(WriteOperation.TASK_DELETE, mongoTemplate, template -> template.remove(query, Task.class))
+                .map(DeleteResult::getDeletedCount)
+                .doOnError(err -> log.error("An error occurred while deleting %d Tasks: %s".formatted(ids.size(), err.toString())))
+                .onErrorMap(err -> new CouldNotDeleteException("Could not delete %d Tasks.".formatted(ids.size())));
+    }
+
+    static Update updateFor(Task task) {
+        Update update = new Update()
+                .set("description", task.getDescription())
+                .set("title", task.getTitle())
+                .set("completed", task.isCompleted())
+                .set("userId", task.getUserId())
+                .inc("version", 1);
+
+        // $min keeps the first completion time when an already completed Task is saved again.
+        return task.isCompleted() ? update.min("completedAt", Instant.now()) : update.unset("completedAt");
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.durability.WriteDurability;
+import com.example.reactive_backend.durability.WriteOperation;
+import com.example.reactive_backend.errorhandling.exception.ConflictException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.model.UserAccount;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoServerException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The MongoDB adapter of {@link UserAccountRepository}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MongoUserAccountRepository implements UserAccountRepository {
+    public static final String EMAIL_INDEX = "email_unique";
+    // The server reports E11000 as "... index: <name> dup key: { ... }".
+    private static final Pattern DUPLICATE_KEY_INDEX = Pattern.compile("index: (\\S+) dup key");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final WriteDurability writeDurability;
+
+    public MongoUserAccountRepository(ReactiveMongoTemplate mongoTemplate) {
+        this(mongoTemplate, WriteDurability.clientDefault());
+    }
+
+    @Override
+    public Mono<UserAccount> retrieveUserAccount(ObjectId id) {
+        return mongoTemplate.findById(id, UserAccount.class)
+                .doOnSubscribe(sub -> log.info("Searching for User Account with ID: %s".formatted(id)))
+                .doOnSuccess(acc -> {
+                    if(acc != null) log.info("Retrieved User Account with ID: %s".formatted(id));
+                })
+                .doOnError(err -> log.error("An error occurred while searching for User Account with ID: %s \nError: %s".formatted(id, err.toString())))
+                .onErrorMap(err -> new DatabaseException("An error occurred while searching for User Account with ID: %s".formatted(id), err));
+    }
+
+    @Override
+    public Flux<ObjectId> streamIds() {
+        Query query = new Query();
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(UserAccount.class))
+                .map(document -> document.getObjectId("_id"))
+                .onErrorMap(err -> new DatabaseException("An error occurred while reading the User Account ids", err));
+    }
+
+    @Override
+    public Flux<UserAccount> getAllUserAccounts() {
+        return mongoTemplate.findAll(UserAccount.class)
+                .doOnSubscribe(sub -> log.info("Attempting to retrieve all User Accounts"))
+                .onErrorMap(err -> new DatabaseException("An error occurred while reading the User Accounts", err));
+    }
+
+    @Override
+    public Mono<UserAccount> findByEmail(String email) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("email").is(email)), UserAccount.class)
+                .doOnError(err -> log.error("An error occurred while searching for User Account by email \nError: %s".formatted(err.toString())))
+                .onErrorMap(err -> new DatabaseException("An error occurred while searching for User Account by email", err));
+    }
+
+    @Override
+    public Mono<UserAccount> createNewUserAccount(UserAccount userAccountInfo) {
+        return writeDurability.write(WriteOperation.USER_ACCOUNT_CREATE, mongoTemplate, template -> template.insert(userAccountInfo))
+                .doOnSubscribe(sub -> log.info("Attempting to create new User Account."))
+                .doOnSuccess(acc -> log.info("Successfully created new User Account."))
+                .doOnError(err -> log.error("An error occurred while trying to create new User Account: %s".formatted(err)))
+                .onErrorMap(err -> insertError(userAccountInfo, err));
+    }
+
+    @Override
+    public Mono<Boolean> deleteUserAccount(ObjectId id) {
+        return writeDurability.write(WriteOperation.USER_ACCOUNT_DELETE, mongoTemplate, template -> template.remove(Query.query(Criteria.where("_id").is(id)), UserAccount.class))
+                .map(result -> result.getDeletedCount() > 0)
+                .doOnError(err -> log.error("An error occurred while deleting User Account with ID: %s \nError: %s".formatted(id, err.toString())))
+                .onErrorMap(err -> new CouldNotDeleteException("Could not delete User Account with ID: %s".formatted(id)));
+    }
+
+    // Unique among accounts that have an email, accounts without one are left out of the index.
+    public static Mono<Void> ensureIndexes(ReactiveMongoTemplate mongoTemplate) {
+        return mongoTemplate.indexOps(UserAccount.class)
+                .ensureIndex(new Index().on("email", Sort.Direction.ASC).unique().named(EMAIL_INDEX)
+                        .partial(PartialIndexFilter.of(Criteria.where("email").type(JsonSchemaObject.Type.STRING))))
+                .then();
+    }
+
+    // Lookups match the trimmed, lower-cased email, so accounts stored before emails were normalized are rewritten
+    // to that form. An account whose normalized email is already taken is left alone and logged for manual cleanup.
+    public static Mono<Long> normalizeEmails(ReactiveMongoTemplate mongoTemplate) {
+        Query unnormalized = Query.query(Criteria.where("email").regex("[A-Z]|^\\s|\\s$"));
+        unnormalized.fields().include("email");
+        String collection = mongoTemplate.getCollectionName(UserAccount.class);
+
+        return mongoTemplate.find(unnormalized, Document.class, collection)
+                .concatMap(document -> {
+                    String email = document.getString("email");
+                    String normalized = email.trim().toLowerCase(Locale.ROOT);
+                    Query same = Query.query(Criteria.where("_id").is(document.getObjectId("_id")).and("email").is(email));
+
+                    return mongoTemplate.updateFirst(same, Update.update("email", normalized), collection)
+                            .map(UpdateResult::getModifiedCount)
+                            .onErrorResume(DuplicateKeyException.class, err -> {
+                                log.warn("User Account with ID: %s keeps its email, the normalized form belongs to another account".formatted(document.getObjectId("_id")));
+                                return Mono.just(0L);
+                            });
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    static RuntimeException insertError(UserAccount userAccountInfo, Throwable err) {
+        // Only the email index means the email is taken; a duplicate _id is a failed insert, not a conflict.
+        if(EMAIL_INDEX.equals(duplicateKeyIndex(err))) {
+            return new ConflictException("A User Account with the email: %s already exists.".formatted(userAccountInfo.getEmail()));
+        }
+        return new CouldNotInsertException("An error occurred while trying to create new User Account: %s".formatted(err));
+    }
+
+    // The index a duplicate key error (code 11000) was raised on, taken from the server's write error under Spring's
+    // translated exception. Null for any other error.
+    static String duplicateKeyIndex(Throwable err) {
+        for(Throwable cause = err; cause != null; cause = cause.getCause()) {
+            if(cause instanceof MongoWriteException write) {
+                return write.getError().getCategory() == ErrorCategory.DUPLICATE_KEY ? indexName(write.getError().getMessage()) : null;
+            }
+            if(cause instanceof MongoServerException server) {
+                return ErrorCategory.fromErrorCode(server.getCode()) == ErrorCategory.DUPLICATE_KEY ? indexName(server.getMessage()) : null;
+            }
+        }
+        return null;
+    }
+
+    private static String indexName(String serverMessage) {
+        Matcher matcher = DUPLICATE_KEY_INDEX.matcher(Objects.toString(serverMessage, ""));
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @Override
+    public Mono<Boolean> updatePassword(ObjectId id, String encodedPassword) {
+        return writeDurability.write(WriteOperation.USER_ACCOUNT_UPDATE, mongoTemplate,
+                        template -> template.updateFirst(Query.query(Criteria.where("_id").is(id)), Update.update("password", encodedPassword), UserAccount.class))
+                .map(result -> result.getMatchedCount() > 0)
+                .doOnError(err -> log.error("An error occurred while updating the password of User Account with ID: %s \nError: %s".formatted(id, err.toString())))
+                .onErrorMap(err -> new CouldNotUpdateException("An error occurred while updating the password of User Account with ID: %s".formatted(id)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.config.StorageProperties;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.model.Task;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Reads Task documents as undecoded {@link RawBsonDocument}s, skipping the mapping converter entirely.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RawTaskRepository {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final StorageProperties storage;
+
+    public Flux<RawBsonDocument> getAllTasks() {
+        return find(new Document())
+                .doOnSubscribe(sub -> log.info("Attempting to stream all raw Task Documents from Collection"))
+                .doOnComplete(() -> log.info("Successfully streamed all raw Task Documents from Collection"));
+    }
+
+    public Flux<RawBsonDocument> getAllTasksForOneUserAccount(ObjectId id) {
+        return find(new Document("userId", id))
+                .doOnSubscribe(sub -> log.info("Attempting to stream raw Task Documents from Collection with userId: %s".formatted(id)))
+                .doOnComplete(() -> log.info("Successfully streamed raw Task Documents from Collection with userId: %s".formatted(id)));
+    }
+
+    private Flux<RawBsonDocument> find(Bson filter) {
+        if(storage.getLayout() == StorageProperties.Layout.BUCKET) return unwindBuckets(filter);
+
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Task.class))
+                .flatMapMany(collection -> collection.withDocumentClass(RawBsonDocument.class).find(filter))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+
+    // The embedded Tasks already have the stored Task shape, the server only has to lift them out of their buckets.
+    private Flux<RawBsonDocument> unwindBuckets(Bson filter) {
+        List<Bson> pipeline = List.of(
+                new Document("$match", filter),
+                new Document("$sort", new Document("userId", 1).append("_id", 1)),
+                new Document("$unwind", "$tasks"),
+                new Document("$replaceRoot", new Document("newRoot", "$tasks")));
+
+        return mongoTemplate.getCollection(BucketTaskRepository.BUCKET_COLLECTION)
+                .flatMapMany(collection -> collection.withDocumentClass(RawBsonDocument.class).aggregate(pipeline))
+                .onErrorMap(err -> new DatabaseException("An error occurred: ", err));
+    }
+}
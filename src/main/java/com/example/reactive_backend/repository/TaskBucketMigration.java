@@ -0,0 +1,66 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.config.StorageProperties;
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.errorhandling.exception.DatabaseException;
+import com.example.reactive_backend.model.Task;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Copies the 'tasks' collection into per-user buckets in 'task_buckets'. 'tasks' is left untouched, so switching
+ * app.storage.layout back to document is the rollback. Writes made while the migration runs are not carried over;
+ * run it with writes stopped, then restart with the bucket layout.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskBucketMigration {
+    private static final int BUCKETS_PER_INSERT = 100;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final StorageProperties storage;
+
+    public record Result(long tasks, long buckets) {
+    }
+
+    public Mono<Result> migrate(boolean replace) {
+        int capacity = storage.getBucket().getCapacity();
+
+        return mongoTemplate.estimatedCount(BucketTaskRepository.BUCKET_COLLECTION)
+                .flatMap(existing -> {
+                    if(existing > 0 && !replace) {
+                        return Mono.error(new BadRequestException("'%s' already holds %d buckets, pass replace=true to rebuild it.".formatted(BucketTaskRepository.BUCKET_COLLECTION, existing)));
+                    }
+                    return mongoTemplate.dropCollection(BucketTaskRepository.BUCKET_COLLECTION);
+                })
+                .thenMany(mongoTemplate.find(new Query().with(Sort.by("userId", "_id")), Document.class, mongoTemplate.getCollectionName(Task.class)))
+                .doOnNext(task -> task.remove("_class"))
+                .windowUntilChanged(task -> Optional.ofNullable(task.getObjectId("userId")))
+                .concatMap(userTasks -> userTasks.buffer(capacity).map(TaskBucketMigration::bucket))
+                .buffer(BUCKETS_PER_INSERT)
+                .concatMap(buckets -> mongoTemplate.insert(buckets, BucketTaskRepository.BUCKET_COLLECTION)
+                        .then(Mono.just(new Result(buckets.stream().mapToLong(bucket -> bucket.getInteger("count")).sum(), buckets.size()))))
+                .reduce(new Result(0, 0), (total, batch) -> new Result(total.tasks() + batch.tasks(), total.buckets() + batch.buckets()))
+                .flatMap(result -> BucketTaskRepository.ensureIndexes(mongoTemplate).thenReturn(result))
+                .doOnSubscribe(sub -> log.info("Migrating 'tasks' into '%s' with %d Tasks per bucket".formatted(BucketTaskRepository.BUCKET_COLLECTION, capacity)))
+                .doOnSuccess(result -> log.info("Migrated %d Tasks into %d buckets".formatted(result.tasks(), result.buckets())))
+                .doOnError(err -> log.error("Bucket migration failed: %s".formatted(err.toString())))
+                .onErrorMap(err -> !(err instanceof BadRequestException), err -> new DatabaseException("Bucket migration failed.", err));
+    }
+
+    private static Document bucket(List<Document> tasks) {
+        return new Document("userId", tasks.get(0).getObjectId("userId"))
+                .append("count", tasks.size())
+                .append("tasks", tasks);
+    }
+}
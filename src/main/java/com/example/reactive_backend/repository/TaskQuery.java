@@ -0,0 +1,43 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.model.Task;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.util.Comparator;
+import java.util.regex.Pattern;
+
+/**
+ * A validated Task listing: the filter values of one request bound to the {@link Plan} of its shape.
+ * Built by {@link TaskQueryPlanner}; absent filters are null.
+ */
+public record TaskQuery(ObjectId userId, Boolean completed, String titlePrefix, Plan plan) {
+
+    // Shared by every request with the same filters present and the same sort. index is null for a natural order scan.
+    public record Plan(Sort sort, Comparator<Task> comparator, String index) {
+    }
+
+    public Query toMongoQuery() {
+        Query query = new Query().with(plan.sort());
+        if(userId != null) query.addCriteria(Criteria.where("userId").is(userId));
+        if(completed != null) query.addCriteria(Criteria.where("completed").is(completed));
+        // An anchored, case-sensitive literal prefix is answered from index bounds, not by scanning every key.
+        if(titlePrefix != null) query.addCriteria(Criteria.where("title").regex("^" + Pattern.quote(titlePrefix)));
+        return query;
+    }
+
+    public boolean matches(Task task) {
+        return (userId == null || userId.equals(task.getUserId()))
+                && (completed == null || completed == task.isCompleted())
+                && (titlePrefix == null || (task.getTitle() != null && task.getTitle().startsWith(titlePrefix)));
+    }
+
+    // For engines that cannot push the query down: filters and sorts the candidates in memory.
+    public Flux<Task> applyTo(Flux<Task> candidates) {
+        Flux<Task> matching = candidates.filter(this::matches);
+        return plan.sort().isUnsorted() ? matching : matching.sort(plan.comparator());
+    }
+}
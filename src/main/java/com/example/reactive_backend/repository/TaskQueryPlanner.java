@@ -0,0 +1,159 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.model.Task;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns the filter and sort parameters of a Task listing into a {@link TaskQuery}. Only shapes that one of the
+ * {@link #INDEXES} answers without a collection scan or an in-memory sort are accepted: the equality filters
+ * (userId, completed) have to be a prefix of the index, followed by the sort fields, with the title prefix on
+ * the sort field or the key right after it.
+ * <p>
+ * A shape is which filters are present plus the sort parameter; its plan is worked out once and cached, later
+ * requests with the same shape only bind their values.
+ */
+@Component
+public class TaskQueryPlanner {
+    // Index name -> keys, all ascending. The natural order scan on _id is Mongo's own index.
+    static final Map<String, List<String>> INDEXES = indexes();
+    private static final String ID_INDEX = "_id_";
+    private static final Map<String, String> SORT_FIELDS = Map.of("title", "title", "id", "_id");
+    // Mongo puts missing values first in ascending order.
+    private static final Map<String, Comparator<Task>> SORT_KEYS = Map.of(
+            "title", Comparator.comparing(Task::getTitle, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "_id", Comparator.comparing(Task::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+    // Sort strings come from clients; once this many distinct shapes are cached, new ones are planned per request.
+    private static final int MAX_CACHED_SHAPES = 256;
+
+    private final Map<Shape, TaskQuery.Plan> plans = new ConcurrentHashMap<>();
+
+    private record Shape(boolean userId, boolean completed, boolean titlePrefix, String sort) {
+    }
+
+    private static Map<String, List<String>> indexes() {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        indexes.put("userId_completed_title", List.of("userId", "completed", "title"));
+        indexes.put("userId_title", List.of("userId", "title"));
+        indexes.put("completed_title", List.of("completed", "title"));
+        indexes.put("title", List.of("title"));
+        return indexes;
+    }
+
+    public static Mono<Void> ensureIndexes(ReactiveMongoTemplate mongoTemplate) {
+        return Flux.fromIterable(INDEXES.entrySet())
+                .concatMap(entry -> {
+                    Index index = new Index().named(entry.getKey());
+                    entry.getValue().forEach(key -> index.on(key, Sort.Direction.ASC));
+                    return mongoTemplate.indexOps(Task.class).ensureIndex(index);
+                })
+                .then();
+    }
+
+    public TaskQuery plan(ObjectId userId, Boolean completed, String titlePrefix, String sort) {
+        String prefix = titlePrefix == null || titlePrefix.isEmpty() ? null : titlePrefix;
+        Shape shape = new Shape(userId != null, completed != null, prefix != null, sort == null ? "" : sort);
+
+        TaskQuery.Plan plan = plans.get(shape);
+        if(plan == null) {
+            plan = compile(shape);
+            if(plans.size() < MAX_CACHED_SHAPES) plans.putIfAbsent(shape, plan);
+        }
+        return new TaskQuery(userId, completed, prefix, plan);
+    }
+
+    int cachedShapes() {
+        return plans.size();
+    }
+
+    private static TaskQuery.Plan compile(Shape shape) {
+        List<Sort.Order> orders = parseSort(shape.sort());
+        Sort sort = Sort.by(orders);
+        Comparator<Task> comparator = comparator(orders);
+
+        Set<String> equality = new HashSet<>();
+        if(shape.userId()) equality.add("userId");
+        if(shape.completed()) equality.add("completed");
+        String range = shape.titlePrefix() ? "title" : null;
+        List<String> sortFields = orders.stream().map(Sort.Order::getProperty).toList();
+
+        if(equality.isEmpty() && range == null) {
+            if(sortFields.isEmpty()) return new TaskQuery.Plan(sort, comparator, null);
+            if(sortFields.equals(List.of("_id"))) return new TaskQuery.Plan(sort, comparator, ID_INDEX);
+        }
+
+        for(Map.Entry<String, List<String>> index : INDEXES.entrySet()) {
+            if(covers(index.getValue(), equality, range, sortFields)) return new TaskQuery.Plan(sort, comparator, index.getKey());
+        }
+
+        throw new BadRequestException("No index supports filtering by %s sorted by '%s'. Supported sorts are title and id, id only without filters."
+                .formatted(equality.isEmpty() && range == null ? "nothing" : describe(equality, range), shape.sort()));
+    }
+
+    // Equality fields first, then the sort fields in order, then the range field (or the range on the sort field itself).
+    static boolean covers(List<String> keys, Set<String> equality, String range, List<String> sortFields) {
+        int i = 0;
+        while(i < keys.size() && equality.contains(keys.get(i))) i++;
+        if(i != equality.size()) return false;
+
+        List<String> rest = keys.subList(i, keys.size());
+        if(rest.size() < sortFields.size() || !rest.subList(0, sortFields.size()).equals(sortFields)) return false;
+        if(range == null) return true;
+
+        int position = rest.indexOf(range);
+        return position >= 0 && position <= sortFields.size();
+    }
+
+    private static List<Sort.Order> parseSort(String sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if(sort.isBlank()) return orders;
+
+        Set<String> seen = new HashSet<>();
+        for(String token : sort.split(",")) {
+            String trimmed = token.trim();
+            boolean descending = trimmed.startsWith("-");
+            String name = descending || trimmed.startsWith("+") ? trimmed.substring(1) : trimmed;
+            String field = SORT_FIELDS.get(name);
+            if(field == null) throw new BadRequestException("Cannot sort Tasks by '%s'. Supported sorts are title and id, prefixed with '-' for descending.".formatted(name));
+            if(!seen.add(field)) throw new BadRequestException("Tasks are sorted by '%s' more than once.".formatted(name));
+
+            orders.add(descending ? Sort.Order.desc(field) : Sort.Order.asc(field));
+        }
+
+        // All indexes are ascending: a multi-field sort can only walk one forwards or backwards as a whole.
+        if(orders.stream().map(Sort.Order::getDirection).distinct().count() > 1) {
+            throw new BadRequestException("All sort fields have to use the same direction.");
+        }
+        return orders;
+    }
+
+    private static Comparator<Task> comparator(List<Sort.Order> orders) {
+        Comparator<Task> comparator = (a, b) -> 0;
+        for(Sort.Order order : orders) {
+            Comparator<Task> field = SORT_KEYS.get(order.getProperty());
+            comparator = comparator.thenComparing(order.isDescending() ? field.reversed() : field);
+        }
+        return comparator;
+    }
+
+    private static String describe(Set<String> equality, String range) {
+        List<String> filters = new ArrayList<>(equality.stream().sorted().toList());
+        if(range != null) filters.add(range + " prefix");
+        return String.join(", ", filters);
+    }
+}
@@ -1,96 +1,78 @@
 package com.example.reactive_backend.repository;
 
-import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
-import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
-import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
 import com.example.reactive_backend.model.Task;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
-import org.springframework.data.mongodb.core.FindAndModifyOptions;
-import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.Update;
-import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
+import java.util.List;
 
-@Slf4j
-@Repository
-@RequiredArgsConstructor
-public class TaskRepository {
-    private final ReactiveMongoTemplate mongoTemplate;
-
-    public Mono<Task> getOneTask(ObjectId id) {
-        return mongoTemplate.findById(id, Task.class)
-                .doOnSubscribe(sub -> log.info("Searching for a Task with id: %s".formatted(id)))
-                .doOnSuccess(suc -> log.info("Found Task with id: %s".formatted(id)))
-                .doOnError(err -> log.error("Could not find task with id: %s".formatted(id)))
-                .onErrorMap(err -> new RuntimeException("An unexpected error occurred."));
+/**
+ * Storage port for Tasks. Adapters: {@link MongoTaskRepository} (with its blocking and bucket variants) and
+ * {@link InMemoryTaskRepository}. Lookups complete empty when nothing matches; failures are signalled as
+ * {@link com.example.reactive_backend.errorhandling.exception.DomainException}s or DatabaseExceptions.
+ */
+public interface TaskRepository {
+
+    Mono<Task> getOneTask(ObjectId id);
+
+    Flux<Task> getAllTasks();
+
+    Flux<Task> getAllTasksForOneUserAccount(ObjectId id);
+
+    // Matching Tasks in the order of the query's plan. Adapters without indexes on the Task fields filter the
+    // user's Tasks (or all of them) in memory.
+    default Flux<Task> findTasks(TaskQuery query) {
+        return query.applyTo(query.userId() == null ? getAllTasks() : getAllTasksForOneUserAccount(query.userId()));
     }
 
-    public Flux<Task> getAllTasks() {
-        return mongoTemplate.findAll(Task.class)
-                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection"))
-                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection"))
-                .onErrorMap(err -> new RuntimeException("An error occurred: ", err));
+    // Totals for display: adapters may answer from collection metadata instead of counting.
+    default Mono<Long> countTasks() {
+        return getAllTasks().count();
     }
 
-    public Flux<Task> getAllTasksForOneUserAccount(ObjectId id) {
-        Query query = new Query(Criteria.where("userId").is(id));
-        return mongoTemplate.find(query, Task.class)
-                .doOnSubscribe(sub -> log.info("Attempting to retrieve all tasks from Collection with userId: %s".formatted(id)))
-                .doOnComplete(() -> log.info("Successfully retrieved all Tasks from Collection with userId: %s".formatted(id)))
-                .onErrorMap(err -> new RuntimeException("An error occurred: ", err));
+    default Mono<Long> countTasks(TaskQuery query) {
+        return findTasks(query).count();
     }
 
-    public Mono<Task> createOneTask(Task newTask) {
-        return mongoTemplate.insert(newTask)
-                .doOnSubscribe(sub -> log.info("Creating new Document in 'Tasks' Collection"))
-                .doOnSuccess(suc -> log.info("Successfully inserted task with into Collection."))
-                .doOnError(err -> log.error("Could not insert Document into 'Tasks' Collection", err))
-                .onErrorMap(err -> new CouldNotInsertException("Could not insert Document into 'Tasks' Collection"));
+    // Ids of every Task in the hot collection, without loading the Tasks themselves.
+    Flux<ObjectId> streamIds();
+
+    Mono<Task> createOneTask(Task newTask);
+
+    Flux<Task> createTasks(ArrayList<Task> tasks);
+
+    // Completes empty when there is no Task with this id.
+    Mono<Task> updateOneTask(ObjectId id, Task task);
+
+    // Emits the removed Task, completes empty when there was none.
+    Mono<Task> deleteOneTask(ObjectId id);
+
+    // Emits how many of the Tasks were removed. Only Tasks owned by userId are touched, so undoing a partially
+    // applied composite write can never remove someone else's Task that happens to share an id.
+    default Mono<Long> deleteTasks(ObjectId userId, List<ObjectId> ids) {
+        return Flux.fromIterable(ids)
+                .concatMap(id -> getOneTask(id).filter(task -> userId.equals(task.getUserId())).flatMap(task -> deleteOneTask(id)))
+                .count();
     }
 
-    public Flux<Task> createTasks(ArrayList<Task> tasks) {
-        return mongoTemplate.insertAll(tasks)
-                .doOnSubscribe(sub -> log.info("Attempting to insert group of Documents into 'Tasks' Collection."))
-                .doOnComplete(() -> log.info("Successfully inserted group of Documents into 'Tasks' Collection"))
-                .doOnError(err -> log.error("Could not insert Documents into 'Tasks' Collection."))
-                .onErrorMap(err -> new CouldNotInsertException("Could not insert Documents into 'Tasks' Collection."));
+    // Engines without an archive tier simply have nothing more to find.
+    default Mono<Task> getOneTaskIncludingArchive(ObjectId id) {
+        return getOneTask(id);
     }
 
-    public Mono<Task> updateOneTask(ObjectId id, Task task) {
-        FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true);
-        Query query = new Query(Criteria.where("_id").is(id));
-        Update update = new Update()
-                .set("description", task.getDescription())
-                .set("title", task.getTitle())
-                .set("completed", task.isCompleted())
-                .set("userId", task.getUserId());
-
-        return mongoTemplate.findAndModify(query, update, options, Task.class)
-                .doOnSubscribe(sub -> log.info("Attempting to update Document with id: %s".formatted(id)))
-                .flatMap(res -> {
-                    if(res == null) return Mono.empty();
-
-                    return Mono.just(res);
-                })
-                .doOnSuccess(suc -> log.info("Successfully updated Document with id: %s".formatted(id)))
-                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
-                .onErrorMap(err -> new CouldNotUpdateException("Could not update Document with id: %s".formatted(id)));
+    default Flux<Task> getAllTasksForOneUserAccountIncludingArchive(ObjectId id) {
+        return getAllTasksForOneUserAccount(id);
     }
 
-    public Mono<Task> deleteOneTask(ObjectId id) {
-        Query query = new Query(Criteria.where("_id").is(id));
+    // Backups read and restore the archive tier on its own, so archived Tasks stay archived after a restore.
+    default Flux<Task> getAllArchivedTasks() {
+        return Flux.empty();
+    }
 
-        return mongoTemplate.findAndRemove(query, Task.class)
-                .doOnSubscribe(sub -> log.info("Attempting to delete Document with id: %s".formatted(id)))
-                .doOnSuccess(suc -> log.info("Successfully deleted Document with id: %s".formatted(id)))
-                .doOnError(err -> log.error("An error occurred with this transaction. Document id: %s".formatted(id)))
-                .onErrorMap(err -> new CouldNotDeleteException("Could not delete Document with id: %s".formatted(id)));
+    default Flux<Task> createArchivedTasks(ArrayList<Task> tasks) {
+        return Flux.error(new BadRequestException("This storage engine has no archive to restore Tasks into."));
     }
 }
@@ -0,0 +1,27 @@
+package com.example.reactive_backend.repository.converter;
+
+import com.example.reactive_backend.model.Task;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import java.util.Date;
+
+// Builds a Task straight from the stored fields instead of letting MappingMongoConverter reflect over it.
+@ReadingConverter
+public class TaskReadConverter implements Converter<Document, Task> {
+
+    @Override
+    public Task convert(Document source) {
+        Date completedAt = source.getDate("completedAt");
+        Number version = source.get("version", Number.class);
+        return new Task(
+                source.getObjectId("_id"),
+                source.getString("title"),
+                source.getString("description"),
+                source.getBoolean("completed", false),
+                source.getObjectId("userId"),
+                completedAt == null ? null : completedAt.toInstant(),
+                version == null ? null : version.longValue());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.reactive_backend.repository.converter;
+
+import com.example.reactive_backend.model.UserAccount;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds a UserAccount straight from the stored fields instead of letting MappingMongoConverter reflect over it.
+@ReadingConverter
+public class UserAccountReadConverter implements Converter<Document, UserAccount> {
+
+    @Override
+    public UserAccount convert(Document source) {
+        List<ObjectId> storedTaskIds = source.getList("taskIds", ObjectId.class);
+        ArrayList<ObjectId> taskIds = storedTaskIds instanceof ArrayList<ObjectId> list ? list
+                : storedTaskIds == null ? null : new ArrayList<>(storedTaskIds);
+
+        return new UserAccount(
+                source.getObjectId("_id"),
+                source.getString("firstName"),
+                source.getString("lastName"),
+                source.getString("email"),
+                source.getString("password"),
+                taskIds);
+    }
+}
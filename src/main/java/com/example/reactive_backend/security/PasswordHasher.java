@@ -0,0 +1,178 @@
+package com.example.reactive_backend.security;
+
+import com.example.reactive_backend.errorhandling.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing and verification off the event loop. Work runs on a fixed pool with a bounded queue; when the
+ * queue is full the call fails fast with {@link ServiceBusyException} rather than piling up latency.
+ * <p>
+ * The cost factor is calibrated at startup to {@code app.password-hashing.target-latency} and nudged by one step
+ * whenever the average hash time drifts to more than twice or less than half of it. Hashes carry their own cost,
+ * so changing it never invalidates stored passwords; {@link #needsRehash(String)} tells callers when a stored hash
+ * is cheaper than the current cost.
+ * <p>
+ * {@link #matchesNothing(CharSequence)} spends one verification on a dummy hash of the current cost, for the
+ * paths that have no stored hash to check but must not answer faster than the ones that do.
+ * <p>
+ * Metrics: {@code password.hash} (timer, tag {@code operation}), {@code password.hash.queue.wait} (timer),
+ * {@code password.hash.queue.depth}, {@code password.hash.cost} (gauges) and {@code password.hash.rejected}.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final BCryptPasswordEncoder[] encoders;
+    private final AtomicInteger cost = new AtomicInteger();
+    // One dummy hash per cost, made the first time that cost is needed.
+    private final AtomicReferenceArray<String> dummyHashes;
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.encoders = new BCryptPasswordEncoder[properties.getMaxCost() + 1];
+        for(int i = properties.getMinCost(); i <= properties.getMaxCost(); i++) encoders[i] = new BCryptPasswordEncoder(i);
+        this.dummyHashes = new AtomicReferenceArray<>(properties.getMaxCost() + 1);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hash");
+
+        this.hashTimer = Timer.builder("password.hash").tag("operation", "hash").register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.hash").tag("operation", "verify").register(meterRegistry);
+        this.queueWait = Timer.builder("password.hash.queue.wait").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.cost", cost, AtomicInteger::get).register(meterRegistry);
+
+        cost.set(calibrate());
+        log.info("Password hashing uses BCrypt cost %d on %d threads.".formatted(cost.get(), properties.getThreads()));
+    }
+
+    public Mono<String> hash(CharSequence rawPassword) {
+        return offload(() -> {
+            int current = cost.get();
+            long start = System.nanoTime();
+            String encoded = encoders[current].encode(rawPassword);
+            long elapsed = System.nanoTime() - start;
+
+            hashTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            adjust(current, elapsed);
+            return encoded;
+        });
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        if(encodedPassword == null) return matchesNothing(rawPassword);
+
+        return offload(() -> verifyTimer.recordCallable(() -> encoders[cost.get()].matches(rawPassword, encodedPassword)));
+    }
+
+    // Always false, after as much work as checking a real hash of the current cost.
+    public Mono<Boolean> matchesNothing(CharSequence rawPassword) {
+        CharSequence candidate = rawPassword == null ? "" : rawPassword;
+
+        return offload(() -> verifyTimer.recordCallable(() -> {
+            int current = cost.get();
+            String dummy = dummyHashes.updateAndGet(current, existing -> existing != null ? existing : encoders[current].encode("dummy password"));
+            encoders[current].matches(candidate, dummy);
+            return false;
+        }));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = encodedPassword == null ? null : BCRYPT_COST.matcher(encodedPassword);
+        return matcher == null || !matcher.find() || Integer.parseInt(matcher.group(1)) < cost.get();
+    }
+
+    public int currentCost() {
+        return cost.get();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> offload(Callable<T> work) {
+        return Mono.defer(() -> {
+                    long queuedAt = System.nanoTime();
+                    return Mono.fromCallable(() -> {
+                        queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                        return work.call();
+                    }).subscribeOn(scheduler);
+                })
+                .onErrorMap(RejectedExecutionException.class, err -> {
+                    rejected.increment();
+                    return new ServiceBusyException("Too many password operations are waiting, try again shortly.");
+                });
+    }
+
+    // Each extra cost step doubles the work, so one measurement at the minimum is enough to estimate the rest.
+    private int calibrate() {
+        BCryptPasswordEncoder encoder = encoders[properties.getMinCost()];
+        encoder.encode("calibration");
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        int steps = (int) Math.floor(Math.log((double) properties.getTargetLatency().toNanos() / elapsed) / Math.log(2));
+        return clamp(properties.getMinCost() + steps);
+    }
+
+    private void adjust(int usedCost, long elapsedNanos) {
+        hashNanos.add(elapsedNanos);
+        hashes.increment();
+        if(hashes.sum() < properties.getAdjustEvery()) return;
+
+        long average = hashNanos.sumThenReset() / Math.max(1, hashes.sumThenReset());
+        long target = properties.getTargetLatency().toNanos();
+        int next = average > target * 2 ? usedCost - 1 : average < target / 2 ? usedCost + 1 : usedCost;
+
+        if(clamp(next) != usedCost && cost.compareAndSet(usedCost, clamp(next))) {
+            log.info("Average password hash took %dms, BCrypt cost changed from %d to %d.".formatted(TimeUnit.NANOSECONDS.toMillis(average), usedCost, clamp(next)));
+        }
+    }
+
+    private int clamp(int value) {
+        return Math.max(properties.getMinCost(), Math.min(properties.getMaxCost(), value));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.reactive_backend.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.password-hashing")
+public class PasswordHashingProperties {
+    // Hashing is pure CPU, so the pool stays below the core count to leave room for the event loops.
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // Hashes waiting for a thread beyond this are rejected with 503 instead of queueing without bound.
+    private int queueCapacity = 64;
+    // The BCrypt cost is picked so that one hash takes about this long on this machine.
+    private Duration targetLatency = Duration.ofMillis(250);
+    private int minCost = 10;
+    private int maxCost = 14;
+    // Number of hashes between checks of the average hash time against the target.
+    private int adjustEvery = 64;
+}
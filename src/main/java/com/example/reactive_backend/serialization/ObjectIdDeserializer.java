@@ -0,0 +1,39 @@
+package com.example.reactive_backend.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+
+/**
+ * Reads an {@link ObjectId} from either the raw 12 bytes written by {@link ObjectIdSerializer}
+ * for binary formats or from a 24 character hex string.
+ */
+public class ObjectIdDeserializer extends StdDeserializer<ObjectId> {
+
+    public ObjectIdDeserializer() {
+        super(ObjectId.class);
+    }
+
+    @Override
+    public ObjectId deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if(p.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            byte[] bytes = p.getBinaryValue();
+            if(bytes.length != 12) {
+                throw ctxt.weirdNativeValueException(bytes, ObjectId.class);
+            }
+
+            return new ObjectId(bytes);
+        }
+
+        String text = p.getValueAsString();
+        if(text == null || !ObjectId.isValid(text)) {
+            throw ctxt.weirdStringException(text, ObjectId.class, "not a valid ObjectId");
+        }
+
+        return new ObjectId(text);
+    }
+}
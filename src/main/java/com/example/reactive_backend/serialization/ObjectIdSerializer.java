@@ -0,0 +1,31 @@
+package com.example.reactive_backend.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link ObjectId} as its raw 12 bytes for binary formats (CBOR, Smile) and as the
+ * usual 24 character hex string for JSON.
+ */
+public class ObjectIdSerializer extends StdSerializer<ObjectId> {
+
+    public ObjectIdSerializer() {
+        super(ObjectId.class);
+    }
+
+    @Override
+    public void serialize(ObjectId value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        // TokenBuffer (valueToTree, convertValue) claims binary support too, but its output usually ends up as JSON.
+        if(gen.canWriteBinaryNatively() && !(gen instanceof TokenBuffer)) {
+            gen.writeBinary(value.toByteArray());
+            return;
+        }
+
+        gen.writeString(value.toHexString());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.reactive_backend.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Transcodes raw Task BSON straight into JSON response buffers. The output matches what Jackson writes
+ * for {@link com.example.reactive_backend.model.Task}: {@code _id} is renamed to {@code id}, ObjectIds are
+ * written as hex strings, Spring Data's {@code _class} hint is dropped and absent fields are written as
+ * their defaults.
+ */
+@Component
+public class TaskJsonTranscoder {
+    private static final List<String> TASK_FIELDS = List.of("id", "title", "description", "completed", "userId", "completedAt", "version");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public Flux<DataBuffer> transcodeArray(Flux<RawBsonDocument> documents, DataBufferFactory bufferFactory) {
+        return documents.index()
+                .map(indexed -> transcode(indexed.getT2(), bufferFactory, indexed.getT1() == 0 ? '[' : ','))
+                .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{'['})))
+                .concatWith(Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{']'})));
+    }
+
+    public DataBuffer transcode(RawBsonDocument document, DataBufferFactory bufferFactory, char prefix) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(document.getByteBuffer().remaining() + 64);
+        buffer.write((byte) prefix);
+
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO());
+             JsonGenerator generator = jsonFactory.createGenerator(buffer.asOutputStream())) {
+            writeTask(reader, generator);
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+
+        return buffer;
+    }
+
+    private void writeTask(BsonReader reader, JsonGenerator generator) throws IOException {
+        boolean[] seen = new boolean[TASK_FIELDS.size()];
+
+        reader.readStartDocument();
+        generator.writeStartObject();
+        while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if(name.equals("_class") || !isSupported(reader.getCurrentBsonType())) {
+                reader.skipValue();
+                continue;
+            }
+
+            String field = name.equals("_id") ? "id" : name;
+            int index = TASK_FIELDS.indexOf(field);
+            if(index >= 0) seen[index] = true;
+
+            generator.writeFieldName(field);
+            writeValue(reader, generator);
+        }
+        reader.readEndDocument();
+
+        for(int i = 0; i < seen.length; i++) {
+            if(seen[i]) continue;
+
+            String field = TASK_FIELDS.get(i);
+            if(field.equals("completed")) generator.writeBooleanField(field, false);
+            else generator.writeNullField(field);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeValue(BsonReader reader, JsonGenerator generator) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID -> generator.writeString(reader.readObjectId().toHexString());
+            case STRING -> generator.writeString(reader.readString());
+            case BOOLEAN -> generator.writeBoolean(reader.readBoolean());
+            case INT32 -> generator.writeNumber(reader.readInt32());
+            case INT64 -> generator.writeNumber(reader.readInt64());
+            case DOUBLE -> generator.writeNumber(reader.readDouble());
+            case DECIMAL128 -> generator.writeNumber(reader.readDecimal128().bigDecimalValue());
+            case DATE_TIME -> generator.writeString(Instant.ofEpochMilli(reader.readDateTime()).toString());
+            case NULL -> {
+                reader.readNull();
+                generator.writeNull();
+            }
+            case DOCUMENT -> {
+                reader.readStartDocument();
+                generator.writeStartObject();
+                while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    String name = reader.readName();
+                    if(!isSupported(reader.getCurrentBsonType())) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    generator.writeFieldName(name);
+                    writeValue(reader, generator);
+                }
+                reader.readEndDocument();
+                generator.writeEndObject();
+            }
+            case ARRAY -> {
+                reader.readStartArray();
+                generator.writeStartArray();
+                while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    if(!isSupported(reader.getCurrentBsonType())) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    writeValue(reader, generator);
+                }
+                reader.readEndArray();
+                generator.writeEndArray();
+            }
+            default -> reader.skipValue();
+        }
+    }
+
+    private boolean isSupported(BsonType type) {
+        return switch (type) {
+            case OBJECT_ID, STRING, BOOLEAN, INT32, INT64, DOUBLE, DECIMAL128, DATE_TIME, NULL, DOCUMENT, ARRAY -> true;
+            default -> false;
+        };
+    }
+}
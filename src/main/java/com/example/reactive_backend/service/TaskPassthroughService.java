@@ -0,0 +1,50 @@
+package com.example.reactive_backend.service;
+
+import com.example.reactive_backend.config.StorageProperties;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.repository.RawTaskRepository;
+import com.example.reactive_backend.repository.TaskRepository;
+import com.example.reactive_backend.serialization.TaskJsonTranscoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@RequiredArgsConstructor
+public class TaskPassthroughService {
+    private final RawTaskRepository rawTaskRepository;
+    private final TaskJsonTranscoder transcoder;
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final StorageProperties storage;
+
+    public Flux<DataBuffer> getAllTasks(DataBufferFactory bufferFactory) {
+        if(storage.getEngine() == StorageProperties.Engine.MEMORY) return encode(taskRepository.getAllTasks(), bufferFactory);
+
+        return transcoder.transcodeArray(rawTaskRepository.getAllTasks(), bufferFactory);
+    }
+
+    public Flux<DataBuffer> getAllTasksForOneUserAccount(ObjectId id, DataBufferFactory bufferFactory) {
+        if(storage.getEngine() == StorageProperties.Engine.MEMORY) return encode(taskRepository.getAllTasksForOneUserAccount(id), bufferFactory);
+
+        return transcoder.transcodeArray(rawTaskRepository.getAllTasksForOneUserAccount(id), bufferFactory);
+    }
+
+    // There is no stored BSON to pass through with the in-memory engine, the Tasks are serialized as usual.
+    private Flux<DataBuffer> encode(Flux<Task> tasks, DataBufferFactory bufferFactory) {
+        return tasks.collectList()
+                .<DataBuffer>handle((list, sink) -> {
+                    try {
+                        sink.next(bufferFactory.wrap(objectMapper.writeValueAsBytes(list)));
+                    } catch (JsonProcessingException e) {
+                        sink.error(e);
+                    }
+                })
+                .flux();
+    }
+}
@@ -1,45 +1,130 @@
 package com.example.reactive_backend.service;
 
+import com.example.reactive_backend.cache.TaskCountCache;
+import com.example.reactive_backend.cache.TaskResponseCache;
 import com.example.reactive_backend.errorhandling.exception.NotFoundException;
+import com.example.reactive_backend.event.TaskEvent;
+import com.example.reactive_backend.existence.ExistenceFilter;
 import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.repository.TaskQuery;
+import com.example.reactive_backend.repository.TaskQueryPlanner;
 import com.example.reactive_backend.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final TaskResponseCache taskResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExistenceFilter existenceFilter;
+    private final TaskQueryPlanner taskQueryPlanner;
+    private final TaskCountCache taskCountCache;
 
     public Mono<Task> getOneTask(ObjectId id) {
+        if(existenceFilter.isKnownAbsent(ExistenceFilter.Kind.TASK, id)) {
+            return Mono.error(new NotFoundException("Could not find task with id: %s".formatted(id)));
+        }
+
         return taskRepository.getOneTask(id)
-                .switchIfEmpty(Mono.error(new NotFoundException("Could not find task with id: %s".formatted(id))));
+                .switchIfEmpty(Mono.error(() -> {
+                    existenceFilter.recordFalsePositive(ExistenceFilter.Kind.TASK);
+                    return new NotFoundException("Could not find task with id: %s".formatted(id));
+                }));
+    }
+
+    public Mono<Task> getOneTask(ObjectId id, boolean includeArchived) {
+        if(!includeArchived) return getOneTask(id);
+
+        return taskRepository.getOneTaskIncludingArchive(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Could not find task with id: %s".formatted(id))));
     }
 
     public Flux<Task> getAllTasks() {
         return taskRepository.getAllTasks();
     }
 
+    public Flux<Task> findTasks(ObjectId userId, Boolean completed, String titlePrefix, String sort) {
+        return Flux.defer(() -> taskRepository.findTasks(taskQueryPlanner.plan(userId, completed, titlePrefix, sort)));
+    }
+
+    // The total comes from collection metadata; filtered counts go through the same index check as listings.
+    public Mono<Long> countTasks(ObjectId userId, Boolean completed, String titlePrefix) {
+        String prefix = titlePrefix == null || titlePrefix.isEmpty() ? null : titlePrefix;
+        TaskCountCache.Key key = new TaskCountCache.Key(userId, completed, prefix);
+        if(userId == null && completed == null && prefix == null) return taskCountCache.get(key, taskRepository::countTasks);
+
+        return Mono.defer(() -> {
+            TaskQuery query = taskQueryPlanner.plan(userId, completed, prefix, null);
+            return taskCountCache.get(key, () -> taskRepository.countTasks(query));
+        });
+    }
+
     public Mono<Task> createOneTask(Task task) {
-        return taskRepository.createOneTask(task);
+        prepareForInsert(task);
+        return taskRepository.createOneTask(task)
+                .doOnNext(created -> {
+                    existenceFilter.record(ExistenceFilter.Kind.TASK, created.getId());
+                    taskCountCache.invalidate(created.getUserId());
+                    publish(TaskEvent.Type.CREATED, created);
+                });
     }
 
     public Flux<Task> createTasks(ArrayList<Task> tasks) {
-        return taskRepository.createTasks(tasks);
+        tasks.forEach(TaskService::prepareForInsert);
+        return taskRepository.createTasks(tasks)
+                .doOnNext(created -> {
+                    existenceFilter.record(ExistenceFilter.Kind.TASK, created.getId());
+                    taskCountCache.invalidate(created.getUserId());
+                    publish(TaskEvent.Type.CREATED, created);
+                });
     }
 
     public Mono<Task> updateOneTask(ObjectId id, Task task) {
-        return taskRepository.updateOneTask(id, task)
-                .switchIfEmpty(Mono.error(new NotFoundException("Could not find task with id: %s".formatted(id))));
+        // The owner before the update, so a Task moved to another user is announced to both of them.
+        Mono<Optional<ObjectId>> previousUserId = taskRepository.getOneTask(id)
+                .map(existing -> Optional.ofNullable(existing.getUserId()))
+                .defaultIfEmpty(Optional.empty());
+
+        return previousUserId.flatMap(previous -> taskRepository.updateOneTask(id, task)
+                        .switchIfEmpty(Mono.error(() -> new NotFoundException("Could not find task with id: %s".formatted(id))))
+                        .doOnNext(updated -> {
+                            // Invalidate before publishing so a subscriber that re-reads the Task never gets the cached old one.
+                            taskResponseCache.invalidate(id);
+                            // The update may have moved the Task away from a user whose id is no longer known here.
+                            taskCountCache.invalidateAll();
+                            eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.UPDATED, updated, previous.orElse(null)));
+                        }))
+                .doFinally(sig -> taskResponseCache.invalidate(id));
     }
 
     public Mono<Task> deleteOneTask(ObjectId id) {
         return taskRepository.deleteOneTask(id)
-                .switchIfEmpty(Mono.error(new NotFoundException("Could not find task with id: %s".formatted(id))));
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Could not find task with id: %s".formatted(id))))
+                .doOnNext(deleted -> {
+                    taskResponseCache.invalidate(id);
+                    taskCountCache.invalidate(deleted.getUserId());
+                    publish(TaskEvent.Type.DELETED, deleted);
+                })
+                .doFinally(sig -> taskResponseCache.invalidate(id));
+    }
+
+    // completedAt and version are owned by the server; updates maintain them in TaskRepository.updateFor.
+    private static void prepareForInsert(Task task) {
+        task.setCompletedAt(task.isCompleted() ? Instant.now() : null);
+        task.setVersion(null);
+    }
+
+    private void publish(TaskEvent.Type type, Task task) {
+        eventPublisher.publishEvent(new TaskEvent(type, task));
     }
 }
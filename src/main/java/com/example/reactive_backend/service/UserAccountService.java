@@ -1,30 +1,173 @@
 package com.example.reactive_backend.service;
 
+import com.example.reactive_backend.cache.MissingEmailCache;
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.errorhandling.exception.ConflictException;
 import com.example.reactive_backend.errorhandling.exception.NotFoundException;
+import com.example.reactive_backend.errorhandling.exception.UnauthorizedException;
+import com.example.reactive_backend.existence.ExistenceFilter;
+import com.example.reactive_backend.model.Task;
 import com.example.reactive_backend.model.UserAccount;
 import com.example.reactive_backend.model.UserAccountDTO;
 import com.example.reactive_backend.repository.TaskRepository;
 import com.example.reactive_backend.repository.UserAccountRepository;
+import com.example.reactive_backend.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserAccountService {
     private final UserAccountRepository repository;
     private final TaskRepository taskRepository;
+    private final PasswordHasher passwordHasher;
+    private final MissingEmailCache missingEmailCache;
+    private final ExistenceFilter existenceFilter;
+    private final TaskService taskService;
 
     public Mono<UserAccountDTO> retrieveUserAccount(ObjectId id) {
-        return repository.retrieveUserAccount(id)
-                .switchIfEmpty(Mono.error(new NotFoundException("There was no User Account associated with the ID: %s".formatted(id))))
-                .flatMap(acc -> taskRepository.getAllTasksForOneUserAccount(id)
+        return retrieveUserAccount(id, false);
+    }
+
+    public Mono<UserAccountDTO> retrieveUserAccount(ObjectId id, boolean includeArchived) {
+        return findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("There was no User Account associated with the ID: %s".formatted(id))))
+                .flatMap(acc -> (includeArchived ? taskRepository.getAllTasksForOneUserAccountIncludingArchive(id) : taskRepository.getAllTasksForOneUserAccount(id))
                         .collectList()
                         .map(tasks -> new UserAccountDTO(acc.getId(), acc.getFirstName(), acc.getLastName(), acc.getEmail(), tasks)));
     }
 
+    public Mono<Boolean> emailExists(String email) {
+        return findByEmail(email).hasElement();
+    }
+
     public Mono<UserAccount> createNewUserAccount(UserAccount userAccountInfo) {
-        return repository.createNewUserAccount(userAccountInfo);
+        return insertAccount(userAccountInfo);
+    }
+
+    // Ids are assigned up front so the account can be written with its taskIds and the Tasks with their userId,
+    // making it one insert for the account and one bulk insert for the Tasks.
+    public Mono<UserAccountDTO> createUserAccountWithTasks(UserAccount userAccountInfo, List<Task> tasks) {
+        if(userAccountInfo == null) return Mono.error(new BadRequestException("A User Account is required."));
+        List<Task> starters = tasks == null ? List.of() : tasks;
+        if(starters.contains(null)) return Mono.error(new BadRequestException("The starter Tasks must not contain null entries."));
+
+        // Client-supplied Task ids are ignored: an id already taken by another user's Task would fail the insert,
+        // and the rollback must only ever remove Tasks this call created.
+        ObjectId accountId = new ObjectId();
+        ArrayList<Task> prepared = starters.stream()
+                .map(task -> task.toBuilder().id(new ObjectId()).userId(accountId).build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        ArrayList<ObjectId> taskIds = prepared.stream().map(Task::getId).collect(Collectors.toCollection(ArrayList::new));
+
+        return insertAccount(userAccountInfo.toBuilder().id(accountId).taskIds(taskIds).build())
+                .flatMap(acc -> (prepared.isEmpty() ? Mono.just(List.<Task>of()) : taskService.createTasks(prepared).collectList())
+                        .onErrorResume(err -> undoAccountCreation(accountId, taskIds).then(Mono.error(err)))
+                        .map(created -> new UserAccountDTO(acc.getId(), acc.getFirstName(), acc.getLastName(), acc.getEmail(), created)));
+    }
+
+    private Mono<UserAccount> insertAccount(UserAccount userAccountInfo) {
+        if(userAccountInfo.getPassword() == null || userAccountInfo.getPassword().isBlank()) {
+            return Mono.error(new BadRequestException("A password is required to create a User Account."));
+        }
+
+        return passwordHasher.hash(userAccountInfo.getPassword())
+                .flatMap(encoded -> store(userAccountInfo.toBuilder().password(encoded).build()));
+    }
+
+    // Backups hold the password hashes, so restored User Accounts skip hashing but are stored like new ones.
+    public Mono<UserAccount> restoreUserAccount(UserAccount userAccount) {
+        return store(userAccount);
+    }
+
+    private Mono<UserAccount> store(UserAccount userAccount) {
+        String email = normalizeEmail(userAccount.getEmail());
+
+        return repository.createNewUserAccount(userAccount.toBuilder().email(email).build())
+                .doOnNext(acc -> existenceFilter.record(ExistenceFilter.Kind.USER_ACCOUNT, acc.getId()))
+                // A conflict means another instance created it, so a remembered miss here is stale too.
+                .doOnSuccess(acc -> missingEmailCache.forget(email))
+                .doOnError(ConflictException.class, err -> missingEmailCache.forget(email));
+    }
+
+    // Without a replica set there are no multi-document transactions, so a failed Task insert is undone by hand.
+    private Mono<Void> undoAccountCreation(ObjectId accountId, List<ObjectId> taskIds) {
+        return taskRepository.deleteTasks(accountId, taskIds)
+                .then(repository.deleteUserAccount(accountId))
+                .doOnSuccess(deleted -> log.warn("Rolled back User Account with ID: %s after its starter Tasks could not be inserted".formatted(accountId)))
+                .onErrorResume(err -> {
+                    log.error("Could not roll back User Account with ID: %s \nError: %s".formatted(accountId, err.toString()));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // Missing accounts and wrong passwords fail the same way so the response does not reveal which ids exist.
+    public Mono<Void> verifyPassword(ObjectId id, String password) {
+        return checkPassword(findById(id), password, "The User Account ID or password is incorrect.");
+    }
+
+    public Mono<Void> login(String email, String password) {
+        return checkPassword(findByEmail(email), password, "The email or password is incorrect.");
+    }
+
+    private Mono<UserAccount> findById(ObjectId id) {
+        if(existenceFilter.isKnownAbsent(ExistenceFilter.Kind.USER_ACCOUNT, id)) return Mono.empty();
+
+        return repository.retrieveUserAccount(id)
+                .switchIfEmpty(Mono.fromRunnable(() -> existenceFilter.recordFalsePositive(ExistenceFilter.Kind.USER_ACCOUNT)));
+    }
+
+    private Mono<UserAccount> findByEmail(String email) {
+        String normalized = normalizeEmail(email);
+        if(normalized == null || normalized.isEmpty()) return Mono.error(new BadRequestException("An email is required."));
+
+        return missingEmailCache.lookup(normalized, () -> repository.findByEmail(normalized));
+    }
+
+    // Missing accounts and empty passwords still pay for one BCrypt check, so the response time does not tell
+    // which ids or emails exist.
+    private Mono<Void> checkPassword(Mono<UserAccount> account, String password, String failure) {
+        String candidate = password == null ? "" : password;
+
+        return account
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(found -> {
+                    if(found.isEmpty() || candidate.isEmpty()) return passwordHasher.matchesNothing(candidate).then(Mono.<UserAccount>empty());
+
+                    UserAccount acc = found.get();
+                    return passwordHasher.matches(candidate, acc.getPassword()).filter(Boolean::booleanValue).map(matched -> acc);
+                })
+                .switchIfEmpty(Mono.error(() -> new UnauthorizedException(failure)))
+                .flatMap(acc -> rehashIfCheaper(acc, candidate));
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Stored hashes made with a lower cost than the current one are upgraded on the next successful check.
+    private Mono<Void> rehashIfCheaper(UserAccount userAccount, String password) {
+        if(!passwordHasher.needsRehash(userAccount.getPassword())) return Mono.empty();
+
+        return passwordHasher.hash(password)
+                .flatMap(encoded -> repository.updatePassword(userAccount.getId(), encoded))
+                .doOnNext(updated -> log.info("Upgraded the password hash of User Account with ID: %s".formatted(userAccount.getId())))
+                .onErrorResume(err -> {
+                    log.warn("Could not upgrade the password hash of User Account with ID: %s \nError: %s".formatted(userAccount.getId(), err.toString()));
+                    return Mono.empty();
+                })
+                .then();
     }
 }
@@ -0,0 +1,42 @@
+package com.example.reactive_backend.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimelineLogger {
+    private static final int LOGGED_PHASES = 12;
+
+    private final ApplicationStartup applicationStartup;
+
+    @EventListener
+    public void logStartupPhases(ApplicationReadyEvent event) {
+        log.info("Ready in %d ms (JVM uptime %d ms)".formatted(event.getTimeTaken().toMillis(), ManagementFactory.getRuntimeMXBean().getUptime()));
+
+        if(!(applicationStartup instanceof BufferingApplicationStartup buffering)) return;
+
+        // Steps nest (bean instantiation happens inside the context refresh), so these are cumulative per phase name.
+        Map<String, Duration> byPhase = new HashMap<>();
+        for(StartupTimeline.TimelineEvent timelineEvent : buffering.getBufferedTimeline().getEvents()) {
+            byPhase.merge(timelineEvent.getStartupStep().getName(), timelineEvent.getDuration(), Duration::plus);
+        }
+
+        byPhase.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .limit(LOGGED_PHASES)
+                .forEach(phase -> log.info("Startup phase %-45s %6d ms".formatted(phase.getKey(), phase.getValue().toMillis())));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.reactive_backend.startup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.warm-up")
+public class WarmUpProperties {
+    private boolean enabled = false;
+    private int codecIterations = 5_000;
+    private int routeRequests = 500;
+    private int routeConcurrency = 16;
+    private Duration requestTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,138 @@
+package com.example.reactive_backend.startup;
+
+import com.example.reactive_backend.config.StorageProperties;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.model.UserAccountDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the hot paths (JSON codec, Task mapping, the controller routes) before the application reports
+ * itself ready. Application runners finish before Boot flips the readiness state to ACCEPTING_TRAFFIC,
+ * so the readiness probe stays red until the JIT has seen these paths.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.warm-up", name = "enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+    private final WarmUpProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final WebClient.Builder webClientBuilder;
+    private final Environment environment;
+    private final ApplicationStartup applicationStartup;
+    private final StorageProperties storage;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        phase("app.warm-up.json-codec", this::warmUpJsonCodec);
+        phase("app.warm-up.task-mapping", this::warmUpTaskMapping);
+        phase("app.warm-up.routes", this::warmUpRoutes);
+
+        log.info("Warm-up finished in %d ms".formatted((System.nanoTime() - start) / 1_000_000));
+    }
+
+    private void phase(String name, Runnable work) {
+        StartupStep step = applicationStartup.start(name);
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up phase %s failed, continuing startup: %s".formatted(name, e.toString()));
+            step.tag("failed", e.getClass().getSimpleName());
+        } finally {
+            step.end();
+        }
+        log.info("Warm-up phase %s took %d ms".formatted(name, (System.nanoTime() - start) / 1_000_000));
+    }
+
+    private void warmUpJsonCodec() {
+        Task task = sampleTask();
+        UserAccountDTO account = new UserAccountDTO(new ObjectId(), "Warm", "Up", "warm.up@example.com", List.of(task, task));
+
+        try {
+            for(int i = 0; i < properties.getCodecIterations(); i++) {
+                objectMapper.readValue(objectMapper.writeValueAsBytes(task), Task.class);
+                objectMapper.readValue(objectMapper.writeValueAsBytes(account), UserAccountDTO.class);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void warmUpTaskMapping() {
+        MongoConverter converter = mongoTemplate.getConverter();
+        Task task = sampleTask();
+
+        for(int i = 0; i < properties.getCodecIterations(); i++) {
+            Document document = new Document();
+            converter.write(task, document);
+            converter.read(Task.class, document);
+        }
+    }
+
+    private void warmUpRoutes() {
+        WebClient client = webClientBuilder.baseUrl("http://localhost:" + environment.getProperty("local.server.port")).build();
+
+        List<String> paths = new ArrayList<>(List.of("/api/task?id=warm-up", "/api/user?id=warm-up"));
+        if(databaseReachable()) {
+            paths.add("/api/task?id=" + new ObjectId());
+            paths.add("/api/user?id=" + new ObjectId());
+            paths.add("/api/tasks?raw=true&userId=" + new ObjectId());
+        } else {
+            log.warn("Mongo is not reachable, warming up only the routes that do not touch the database.");
+        }
+
+        Flux.range(0, properties.getRouteRequests())
+                .flatMap(i -> client.get()
+                        .uri(paths.get(i % paths.size()))
+                        .exchangeToMono(ClientResponse::releaseBody)
+                        .timeout(properties.getRequestTimeout())
+                        .onErrorResume(err -> Mono.empty()), properties.getRouteConcurrency())
+                .blockLast();
+    }
+
+    private boolean databaseReachable() {
+        if(storage.getEngine() == StorageProperties.Engine.MEMORY) return true;
+
+        return Boolean.TRUE.equals(mongoTemplate.executeCommand("{ ping: 1 }")
+                .map(res -> true)
+                .timeout(properties.getRequestTimeout())
+                .onErrorReturn(false)
+                .block());
+    }
+
+    private Task sampleTask() {
+        return Task.builder()
+                .id(new ObjectId())
+                .title("Warm-up Task")
+                .description("A Task used to exercise the codecs and mapping before taking traffic")
+                .completed(false)
+                .userId(new ObjectId())
+                .build();
+    }
+}
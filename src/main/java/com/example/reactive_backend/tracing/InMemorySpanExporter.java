@@ -0,0 +1,94 @@
+package com.example.reactive_backend.tracing;
+
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span exporter that keeps the last app.tracing.in-memory.max-spans finished spans for local inspection. Spring Boot
+ * registers every SpanExporter bean with the tracer, so this runs alongside OTLP or Zipkin exporters when those are
+ * on the classpath.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.tracing.in-memory", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class InMemorySpanExporter implements SpanExporter {
+    private final int maxSpans;
+    private final ArrayDeque<SpanView> spans = new ArrayDeque<>();
+
+    public InMemorySpanExporter(TracingProperties properties) {
+        this.maxSpans = properties.getInMemory().getMaxSpans();
+    }
+
+    public record SpanView(String traceId, String spanId, String parentSpanId, String name, String kind, Instant start,
+                           long durationMicros, String status, Map<String, String> attributes) {
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> finished) {
+        List<SpanView> views = finished.stream().map(InMemorySpanExporter::view).toList();
+
+        synchronized (spans) {
+            for(SpanView view : views) {
+                if(spans.size() == maxSpans) spans.pollFirst();
+                spans.addLast(view);
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    // Root spans, newest first, optionally only those that took at least minDurationMillis.
+    public List<SpanView> recentTraces(int limit, long minDurationMillis) {
+        return snapshot().stream()
+                .filter(span -> span.parentSpanId() == null)
+                .filter(span -> span.durationMicros() >= minDurationMillis * 1000)
+                .sorted(Comparator.comparing(SpanView::start).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public List<SpanView> trace(String traceId) {
+        return snapshot().stream()
+                .filter(span -> span.traceId().equals(traceId))
+                .sorted(Comparator.comparing(SpanView::start))
+                .toList();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private List<SpanView> snapshot() {
+        synchronized (spans) {
+            return List.copyOf(spans);
+        }
+    }
+
+    private static SpanView view(SpanData span) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        String parent = SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null;
+
+        return new SpanView(span.getTraceId(), span.getSpanId(), parent, span.getName(), span.getKind().name(),
+                Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                span.getStatus().getStatusCode().name(), attributes);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.reactive_backend.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opens an observation (a span once tracing is on) around every public Mono or Flux returning method of the
+ * service layer. The observation starts when the sequence is subscribed and ends when it terminates, and picks its
+ * parent from the Reactor context, so nesting stays right across flatMap and thread hops.
+ * Span names are {@code service.<Class>.<method>}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceObservationAspect {
+    private final ObservationRegistry observationRegistry;
+
+    @Around("within(com.example.reactive_backend.service..*) && execution(public reactor.core.publisher.Mono *(..))")
+    public Object observeMono(ProceedingJoinPoint joinPoint) throws Throwable {
+        Mono<?> result = (Mono<?>) joinPoint.proceed();
+        if(result == null) return null;
+
+        return result.name(name(joinPoint)).tap(Micrometer.observation(observationRegistry));
+    }
+
+    @Around("within(com.example.reactive_backend.service..*) && execution(public reactor.core.publisher.Flux *(..))")
+    public Object observeFlux(ProceedingJoinPoint joinPoint) throws Throwable {
+        Flux<?> result = (Flux<?>) joinPoint.proceed();
+        if(result == null) return null;
+
+        return result.name(name(joinPoint)).tap(Micrometer.observation(observationRegistry));
+    }
+
+    private static String name(ProceedingJoinPoint joinPoint) {
+        return "service.%s.%s".formatted(joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint.getSignature().getName());
+    }
+}
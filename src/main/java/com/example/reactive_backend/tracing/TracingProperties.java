@@ -0,0 +1,17 @@
+package com.example.reactive_backend.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("app.tracing")
+public class TracingProperties {
+    private InMemory inMemory = new InMemory();
+
+    @Data
+    public static class InMemory {
+        // Keeps the most recent finished spans for /api/admin/traces, next to any other configured exporter.
+        private boolean enabled = true;
+        private int maxSpans = 10_000;
+    }
+}
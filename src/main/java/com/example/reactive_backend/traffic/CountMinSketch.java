@@ -0,0 +1,48 @@
+package com.example.reactive_backend.traffic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size frequency estimates for an unbounded key space. Every key increments one counter per row and its
+ * count is the smallest of those counters, so collisions can only inflate it. Counters are atomic adds, no locks.
+ */
+class CountMinSketch {
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int width, int depth) {
+        int size = Integer.highestOneBit(Math.max(16, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = size - 1;
+        this.counters = new AtomicLongArray(size * depth);
+    }
+
+    // Returns the estimate including this increment.
+    long add(long hash) {
+        long min = Long.MAX_VALUE;
+        for(int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.incrementAndGet(index(hash, row)));
+        }
+        return min;
+    }
+
+    long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for(int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(hash, row)));
+        }
+        return min;
+    }
+
+    private int index(long hash, int row) {
+        long rowHash = mix(hash + row * 0x9E3779B97F4A7C15L);
+        return row * (mask + 1) + (int) (rowHash & mask);
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.reactive_backend.traffic;
+
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks which Task and User Account ids receive the most reads. Each read adds to a count-min sketch of the
+ * current window; ids whose count reaches the admission threshold become top-K candidates, and the candidate set
+ * is trimmed back to K whenever it doubles. Counts slide: the previous window still contributes, weighted by how
+ * much of the current window is left, so a key's rate fades out instead of dropping to zero at a boundary.
+ */
+@Component
+public class HeavyHitters {
+    public enum Kind {
+        TASK, USER_ACCOUNT
+    }
+
+    public record HotKey(Kind kind, String id, long estimatedRequests, double requestsPerSecond) {
+    }
+
+    private record Key(Kind kind, ObjectId id) {
+
+        long hash() {
+            return CountMinSketch.mix(((long) id.getTimestamp() << 32 | (id.hashCode() & 0xFFFFFFFFL)) ^ kind.ordinal());
+        }
+    }
+
+    private record Window(CountMinSketch sketch, long startedAt) {
+    }
+
+    private record Ranked(Key key, long estimate) {
+    }
+
+    private final HeavyHittersProperties properties;
+    private final long windowMillis;
+    private final Clock clock;
+    private final Map<Key, Boolean> candidates = new ConcurrentHashMap<>();
+    private final ReentrantLock maintenance = new ReentrantLock();
+
+    private volatile Window current;
+    private volatile Window previous;
+    private volatile long admission;
+
+    public HeavyHitters(HeavyHittersProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    HeavyHitters(HeavyHittersProperties properties, Clock clock) {
+        this.properties = properties;
+        this.windowMillis = properties.getWindow().toMillis();
+        this.clock = clock;
+        this.current = newWindow(clock.millis());
+        this.previous = newWindow(clock.millis() - windowMillis);
+    }
+
+    public void record(Kind kind, ObjectId id) {
+        if(!properties.isEnabled()) return;
+
+        Key key = new Key(kind, id);
+        long count = window(clock.millis()).sketch().add(key.hash());
+        if(count < admission) return;
+
+        candidates.putIfAbsent(key, Boolean.TRUE);
+        if(candidates.size() > properties.getTopK() * 2 && maintenance.tryLock()) {
+            try {
+                trim();
+            } finally {
+                maintenance.unlock();
+            }
+        }
+    }
+
+    public List<HotKey> top(int limit) {
+        double seconds = windowMillis / 1000.0;
+
+        return ranked().stream()
+                .limit(Math.max(0, Math.min(limit, properties.getTopK())))
+                .map(ranked -> new HotKey(ranked.key().kind(), ranked.key().id().toHexString(), ranked.estimate(), ranked.estimate() / seconds))
+                .toList();
+    }
+
+    private List<Ranked> ranked() {
+        long now = clock.millis();
+        Window window = window(now);
+        Window before = previous;
+        double previousWeight = Math.max(0, 1 - (double) (now - window.startedAt()) / windowMillis);
+
+        return candidates.keySet().stream()
+                .map(key -> new Ranked(key, window.sketch().estimate(key.hash()) + Math.round(before.sketch().estimate(key.hash()) * previousWeight)))
+                .filter(ranked -> ranked.estimate() > 0)
+                .sorted(Comparator.comparingLong(Ranked::estimate).reversed())
+                .toList();
+    }
+
+    private Window window(long now) {
+        Window window = current;
+        if(now - window.startedAt() < windowMillis) return window;
+
+        maintenance.lock();
+        try {
+            window = current;
+            if(now - window.startedAt() < windowMillis) return window;
+
+            // Windows stay aligned to the first one; after a quiet spell longer than a window nothing is carried over.
+            long elapsedWindows = (now - window.startedAt()) / windowMillis;
+            long startedAt = window.startedAt() + elapsedWindows * windowMillis;
+            previous = elapsedWindows == 1 ? window : newWindow(startedAt - windowMillis);
+            current = newWindow(startedAt);
+            admission = 0;
+            trim();
+            return current;
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    // Keeps the K candidates with the highest sliding counts; the lowest kept current-window count becomes the admission bar.
+    private void trim() {
+        List<Ranked> kept = ranked().stream().limit(properties.getTopK()).toList();
+        Set<Key> keys = kept.stream().map(Ranked::key).collect(Collectors.toSet());
+        candidates.keySet().retainAll(keys);
+
+        Window window = current;
+        admission = kept.size() < properties.getTopK() ? 0 : keys.stream()
+                .mapToLong(key -> window.sketch().estimate(key.hash()))
+                .min()
+                .orElse(0);
+    }
+
+    private Window newWindow(long startedAt) {
+        return new Window(new CountMinSketch(properties.getWidth(), properties.getDepth()), startedAt);
+    }
+}
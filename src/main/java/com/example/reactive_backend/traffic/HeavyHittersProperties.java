@@ -0,0 +1,18 @@
+package com.example.reactive_backend.traffic;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.heavy-hitters")
+public class HeavyHittersProperties {
+    private boolean enabled = true;
+    // Counters per row, rounded up to a power of two. Overestimates are bounded by about 2/width of the window's requests.
+    private int width = 4096;
+    private int depth = 4;
+    private int topK = 20;
+    // Counts are kept for this window and the previous one, the previous one weighted down as the current one fills.
+    private Duration window = Duration.ofMinutes(1);
+}
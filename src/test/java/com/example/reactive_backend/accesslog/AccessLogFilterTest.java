@@ -0,0 +1,44 @@
+package com.example.reactive_backend.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class AccessLogFilterTest {
+    private final AccessLogWriter writer = mock(AccessLogWriter.class);
+    private final AccessLogFilter filter = new AccessLogFilter(writer);
+
+    private void assertLoggedStatus(RuntimeException error, int status) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/task"));
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.error(error)))
+                .expectError(error.getClass())
+                .verify();
+
+        verify(writer).offer(anyLong(), anyLong(), eq(status), eq("POST"), any(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    @Description("Test that an error carrying a status is logged with that status instead of 500.")
+    void testErrorResponseStatusIsLogged() {
+        assertLoggedStatus(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY), 422);
+    }
+
+    @Test
+    @Description("Test that any other error leaving the chain is logged as 500.")
+    void testOtherErrorsAreLoggedAs500() {
+        assertLoggedStatus(new IllegalStateException("Boom"), 500);
+    }
+}
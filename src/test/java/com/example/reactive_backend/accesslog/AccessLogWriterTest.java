@@ -0,0 +1,58 @@
+package com.example.reactive_backend.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.Description;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccessLogWriterTest {
+    @TempDir
+    Path directory;
+
+    private AccessLogWriter writer(int recordsPerFile, int maxFiles, int bufferRecords) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setDirectory(directory);
+        properties.setFileSize(DataSize.ofBytes(AccessLogWriter.HEADER_BYTES + (long) recordsPerFile * AccessLogRecord.SIZE));
+        properties.setMaxFiles(maxFiles);
+        properties.setBufferRecords(bufferRecords);
+        return new AccessLogWriter(properties);
+    }
+
+    private boolean offer(AccessLogWriter writer, int i) {
+        return writer.offer(1_750_000_000_000L + i, 1_500 + i, 200, "GET", new byte[]{127, 0, 0, 1}, 50_000 + i, 64L * i,
+                "/api/task".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @Description("Test that records survive the ring and file rotation and decode to what was written, newest kept.")
+    void testWritesRotatesAndTails() throws Exception {
+        AccessLogWriter writer = writer(10, 2, 64);
+        for(int i = 0; i < 25; i++) assertThat(offer(writer, i)).isTrue();
+
+        writer.start();
+        writer.stop();
+
+        assertThat(AccessLogWriter.files(directory)).hasSize(2);
+        List<AccessLogRecord> tail = AccessLogReader.tail(directory, 12);
+        assertThat(tail).hasSize(12);
+        assertThat(tail.get(11)).isEqualTo(new AccessLogRecord(Instant.ofEpochMilli(1_750_000_000_024L), "GET",
+                "/api/task", 200, 1_524, 64L * 24, "127.0.0.1:50024"));
+        assertThat(tail.get(0).time().toEpochMilli()).isEqualTo(1_750_000_000_013L);
+    }
+
+    @Test
+    @Description("Test that a full ring drops records instead of blocking the caller.")
+    void testFullRingDrops() {
+        AccessLogWriter writer = writer(10, 2, 4);
+
+        for(int i = 0; i < 4; i++) assertThat(offer(writer, i)).isTrue();
+        assertThat(offer(writer, 4)).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.reactive_backend.backup;
+
+import com.example.reactive_backend.cache.MissingEmailCache;
+import com.example.reactive_backend.config.MongoConfig;
+import com.example.reactive_backend.existence.ExistenceFilter;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.model.UserAccount;
+import com.example.reactive_backend.repository.InMemoryTaskRepository;
+import com.example.reactive_backend.repository.InMemoryUserAccountRepository;
+import com.example.reactive_backend.security.PasswordHasher;
+import com.example.reactive_backend.service.TaskService;
+import com.example.reactive_backend.service.UserAccountService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.Description;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BackupServiceTest {
+    @TempDir
+    private Path directory;
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final BackupProperties properties = new BackupProperties();
+
+    @BeforeEach
+    void setUp() {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.setCustomConversions(new MongoConfig().mongoCustomConversions());
+        converter.afterPropertiesSet();
+
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(Task.class)).thenReturn("tasks");
+        when(mongoTemplate.getCollectionName(UserAccount.class)).thenReturn("user_accounts");
+        properties.setDirectory(directory);
+        properties.setImportBatchSize(2);
+    }
+
+    private BackupService backupService(InMemoryTaskRepository tasks, InMemoryUserAccountRepository userAccounts) {
+        UserAccountService userAccountService = new UserAccountService(userAccounts, tasks, mock(PasswordHasher.class), mock(MissingEmailCache.class),
+                mock(ExistenceFilter.class), mock(TaskService.class));
+        return new BackupService(mongoTemplate, tasks, userAccounts, userAccountService, properties, mock(ExistenceFilter.class));
+    }
+
+    @Test
+    @Description("Test that an export imported into empty repositories restores every Task and User Account, with emails normalized.")
+    void testExportImportRoundTrip() {
+        InMemoryTaskRepository sourceTasks = new InMemoryTaskRepository();
+        InMemoryUserAccountRepository sourceUserAccounts = new InMemoryUserAccountRepository();
+        UserAccount account = UserAccount.builder().id(new ObjectId()).firstName("Backup").lastName("User").email(" Backup.User@Example.com")
+                .password("$2a$10$storedhash").taskIds(new ArrayList<>()).build();
+        sourceUserAccounts.createNewUserAccount(account).block();
+        List<Task> tasks = new ArrayList<>();
+        for(int i = 0; i < 5; i++) {
+            tasks.add(sourceTasks.createOneTask(Task.builder().id(new ObjectId()).title("Backup Task %d".formatted(i)).userId(account.getId())
+                    .completed(i % 2 == 0).completedAt(i % 2 == 0 ? Instant.now().truncatedTo(ChronoUnit.MILLIS) : null).build()).block());
+        }
+
+        List<BackupService.ExportResult> exported = backupService(sourceTasks, sourceUserAccounts).exportAll().collectList().block();
+
+        assertThat(exported).extracting(BackupService.ExportResult::documents).containsExactly(5L, 0L, 1L);
+
+        InMemoryTaskRepository targetTasks = new InMemoryTaskRepository();
+        InMemoryUserAccountRepository targetUserAccounts = new InMemoryUserAccountRepository();
+        BackupService target = backupService(targetTasks, targetUserAccounts);
+        for(BackupService.ExportResult result : exported) {
+            BackupService.ImportProgress last = target.importFile(result.file()).blockLast();
+            assertThat(last.done()).isTrue();
+            assertThat(last.imported()).isEqualTo(result.documents());
+        }
+
+        assertThat(targetTasks.getAllTasks().collectList().block()).containsExactlyInAnyOrderElementsOf(tasks);
+        UserAccount restored = targetUserAccounts.findByEmail("backup.user@example.com").block();
+        assertThat(restored).isNotNull();
+        assertThat(restored.getId()).isEqualTo(account.getId());
+        assertThat(restored.getPassword()).isEqualTo(account.getPassword());
+    }
+
+    @Test
+    @Description("Test that two exports started right after each other write to different files.")
+    void testExportsGetUniqueFileNames() {
+        BackupService service = backupService(new InMemoryTaskRepository(), new InMemoryUserAccountRepository());
+
+        List<String> first = service.exportAll().map(BackupService.ExportResult::file).collectList().block();
+        List<String> second = service.exportAll().map(BackupService.ExportResult::file).collectList().block();
+
+        assertThat(first).hasSize(3).doesNotContainAnyElementsOf(second);
+    }
+}
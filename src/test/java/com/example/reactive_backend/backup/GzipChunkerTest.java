@@ -0,0 +1,43 @@
+package com.example.reactive_backend.backup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GzipChunkerTest {
+
+    @Test
+    @Description("Test that the chunks written for several batches of lines form one valid gzip stream of those lines.")
+    void testChunksFormOneGzipStream() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for(int i = 0; i < 5_000; i++) lines.add("{\"_id\": {\"$oid\": \"%024x\"}, \"title\": \"Line %d\"}".formatted(i, i));
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        int chunks = 0;
+        try(GzipChunker chunker = new GzipChunker(DefaultDataBufferFactory.sharedInstance, 1024)) {
+            for(int from = 0; from < lines.size(); from += 100) {
+                DataBuffer chunk = chunker.write(lines.subList(from, from + 100));
+                if(chunk != null) {
+                    chunk.asInputStream().transferTo(written);
+                    chunks++;
+                }
+            }
+            chunker.finish().asInputStream().transferTo(written);
+        }
+
+        String restored = new String(new GZIPInputStream(new ByteArrayInputStream(written.toByteArray())).readAllBytes(), StandardCharsets.UTF_8);
+
+        assertThat(restored).isEqualTo(String.join("\n", lines) + "\n");
+        assertThat(chunks).isGreaterThan(1);
+    }
+}
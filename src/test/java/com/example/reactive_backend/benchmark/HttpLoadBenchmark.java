@@ -0,0 +1,123 @@
+package com.example.reactive_backend.benchmark;
+
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fires a fixed number of GET requests at a running instance with a fixed number in flight and prints
+ * throughput, latency percentiles and the server's used heap (read from the actuator when it is exposed).
+ * Used to compare the reactive and blocking execution modes: start the app once with
+ * {@code app.storage.execution-mode=reactive} and once with {@code blocking} and run this against both.
+ * <p>
+ * Also used to compare HTTP/1.1 against HTTP/2 for fan-out clients: run it with the same small connection budget
+ * and {@code http11}, then {@code h2c} (or {@code h2} against a TLS port), e.g.
+ * {@code http://localhost:8080 /api/task?id=<id> 512 50000 h2c 4}. HTTP/1.1 can only have one request in flight
+ * per connection, HTTP/2 multiplexes up to {@code app.http2.max-concurrent-streams} on each.
+ * <p>
+ * Arguments: {@code [baseUrl] [path] [concurrency] [requests] [http11|h2c|h2] [connections]}, defaulting to
+ * {@code http://localhost:8080 /api/tasks 256 20000 http11 <concurrency>}.
+ */
+public class HttpLoadBenchmark {
+
+    public static void main(String[] args) {
+        String baseUrl = arg(args, 0, "http://localhost:8080");
+        String path = arg(args, 1, "/api/tasks");
+        int concurrency = Integer.parseInt(arg(args, 2, "256"));
+        int requests = Integer.parseInt(arg(args, 3, "20000"));
+        String protocol = arg(args, 4, "http11");
+        int maxConnections = Integer.parseInt(arg(args, 5, String.valueOf(concurrency)));
+
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        AtomicInteger opened = new AtomicInteger();
+        HttpClient client = configure(HttpClient.create(connections).baseUrl(baseUrl), protocol)
+                .doOnChannelInit((observer, channel, address) -> opened.incrementAndGet());
+
+        System.out.printf("Warming up against %s%s over %s%n", baseUrl, path, protocol);
+        run(client, path, concurrency, Math.min(requests, 2_000));
+
+        Result result = run(client, path, concurrency, requests);
+        System.out.printf("requests=%d concurrency=%d protocol=%s connections opened=%d errors=%d%n",
+                requests, concurrency, protocol, opened.get(), result.errors());
+        System.out.printf("throughput: %.0f req/s%n", requests / (result.elapsedNanos() / 1e9));
+        System.out.printf("latency p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms%n",
+                result.percentile(50), result.percentile(90), result.percentile(99), result.percentile(100));
+        System.out.printf("server heap used: %s%n", serverHeapUsed(client));
+
+        connections.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    private static HttpClient configure(HttpClient client, String protocol) {
+        return switch (protocol) {
+            case "http11" -> client.protocol(HttpProtocol.HTTP11);
+            // Prior knowledge: the first bytes on the connection are already HTTP/2, no Upgrade round trip.
+            case "h2c" -> client.protocol(HttpProtocol.H2C);
+            // Benchmark only, the local server usually runs with a self-signed certificate.
+            case "h2" -> client.protocol(HttpProtocol.H2)
+                    .secure(spec -> spec.sslContext(Http2SslContextSpec.forClient()
+                            .configure(builder -> builder.trustManager(InsecureTrustManagerFactory.INSTANCE))));
+            default -> throw new IllegalArgumentException("Unknown protocol %s, expected http11, h2c or h2".formatted(protocol));
+        };
+    }
+
+    static Result run(HttpClient client, String path, int concurrency, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long begin = System.nanoTime();
+                    return client.get()
+                            .uri(path)
+                            .responseSingle((response, body) -> body.asByteArray()
+                                    .then(Mono.just(response.status().code())))
+                            .doOnNext(status -> {
+                                if(status >= 400) errors.incrementAndGet();
+                            })
+                            .onErrorResume(err -> {
+                                errors.incrementAndGet();
+                                return Mono.empty();
+                            })
+                            .doFinally(sig -> latencies[i] = System.nanoTime() - begin);
+                }, concurrency)
+                .blockLast();
+
+        return new Result(System.nanoTime() - start, latencies, errors.get());
+    }
+
+    private static String serverHeapUsed(HttpClient client) {
+        return client.get()
+                .uri("/actuator/metrics/jvm.memory.used?tag=area:heap")
+                .responseSingle((response, body) -> response.status().code() == 200
+                        ? body.asString()
+                        : Mono.just("n/a (actuator metrics endpoint not exposed)"))
+                .onErrorReturn("n/a")
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static String arg(String[] args, int index, String fallback) {
+        return args.length > index ? args[index] : fallback;
+    }
+
+    record Result(long elapsedNanos, long[] latencies, int errors) {
+
+        double percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.reactive_backend.benchmark;
+
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.repository.converter.TaskReadConverter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares the per-document cost of reading a Task through the reflective MappingMongoConverter and through
+ * TaskReadConverter. Not part of the test suite; run the main method from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...ReadConverterBenchmark}.
+ */
+public class ReadConverterBenchmark {
+    private static final int DOCUMENTS = 10_000;
+    private static final int WARM_UP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 50;
+
+    public static void main(String[] args) {
+        MappingMongoConverter reflective = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        reflective.afterPropertiesSet();
+        TaskReadConverter handWritten = new TaskReadConverter();
+
+        List<Document> documents = new ArrayList<>(DOCUMENTS);
+        for(int i = 0; i < DOCUMENTS; i++) {
+            documents.add(new Document("_id", new ObjectId())
+                    .append("title", "Benchmark Title " + i)
+                    .append("description", "The description of benchmark task " + i)
+                    .append("completed", i % 2 == 0)
+                    .append("userId", new ObjectId())
+                    .append("_class", Task.class.getName()));
+        }
+
+        long sink = 0;
+        for(int i = 0; i < WARM_UP_ROUNDS; i++) {
+            sink += run(documents, doc -> reflective.read(Task.class, doc));
+            sink += run(documents, handWritten::convert);
+        }
+
+        long reflectiveNanos = 0;
+        long handWrittenNanos = 0;
+        for(int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += run(documents, doc -> reflective.read(Task.class, doc));
+            reflectiveNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += run(documents, handWritten::convert);
+            handWrittenNanos += System.nanoTime() - start;
+        }
+
+        double perDocument = (double) MEASURED_ROUNDS * DOCUMENTS;
+        System.out.printf("MappingMongoConverter: %.1f ns/document%n", reflectiveNanos / perDocument);
+        System.out.printf("TaskReadConverter:     %.1f ns/document%n", handWrittenNanos / perDocument);
+        System.out.printf("(checksum %d)%n", sink);
+    }
+
+    private static long run(List<Document> documents, Function<Document, Task> reader) {
+        long checksum = 0;
+        for(Document document : documents) {
+            checksum += reader.apply(document).getTitle().length();
+        }
+        return checksum;
+    }
+}
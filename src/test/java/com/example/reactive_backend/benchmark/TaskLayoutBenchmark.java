@@ -0,0 +1,87 @@
+package com.example.reactive_backend.benchmark;
+
+import com.example.reactive_backend.config.StorageProperties;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.repository.BucketTaskRepository;
+import com.example.reactive_backend.repository.MongoTaskRepository;
+import com.example.reactive_backend.repository.TaskBucketMigration;
+import com.example.reactive_backend.repository.TaskRepository;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares a profile fetch ({@code getAllTasksForOneUserAccount}) on the document layout and the bucket layout.
+ * Seeds a throw-away database with interleaved Tasks, so a user's Tasks are spread over the collection as they
+ * are in production, migrates them into buckets and times the same random users against both repositories.
+ * Not part of the test suite; needs a running MongoDB.
+ * <p>
+ * Arguments: {@code [mongoUri] [users] [tasksPerUser] [fetches]}, defaulting to
+ * {@code mongodb://localhost:27017 2000 150 5000}.
+ */
+public class TaskLayoutBenchmark {
+    private static final String DATABASE = "task_layout_benchmark";
+
+    public static void main(String[] args) {
+        String uri = args.length > 0 ? args[0] : "mongodb://localhost:27017";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int tasksPerUser = args.length > 2 ? Integer.parseInt(args[2]) : 150;
+        int fetches = args.length > 3 ? Integer.parseInt(args[3]) : 5_000;
+
+        try(MongoClient client = MongoClients.create(uri)) {
+            ReactiveMongoTemplate mongoTemplate = new ReactiveMongoTemplate(client, DATABASE);
+            mongoTemplate.getMongoDatabase().flatMap(db -> Flux.from(db.drop()).then()).block();
+
+            List<ObjectId> userIds = seed(mongoTemplate, users, tasksPerUser);
+
+            StorageProperties storage = new StorageProperties();
+            TaskBucketMigration.Result migrated = new TaskBucketMigration(mongoTemplate, storage).migrate(true).block();
+            System.out.printf("Seeded %d Tasks for %d users, migrated into %d buckets%n", migrated.tasks(), users, migrated.buckets());
+
+            TaskRepository documentLayout = new MongoTaskRepository(mongoTemplate);
+            TaskRepository bucketLayout = new BucketTaskRepository(mongoTemplate, storage.getBucket().getCapacity());
+
+            // Warm-up for both, then the measured rounds.
+            fetch(documentLayout, userIds, fetches / 5);
+            fetch(bucketLayout, userIds, fetches / 5);
+            System.out.printf("document layout: %.3f ms per profile fetch%n", fetch(documentLayout, userIds, fetches));
+            System.out.printf("bucket layout:   %.3f ms per profile fetch%n", fetch(bucketLayout, userIds, fetches));
+
+            mongoTemplate.getMongoDatabase().flatMap(db -> Flux.from(db.drop()).then()).block();
+        }
+    }
+
+    private static List<ObjectId> seed(ReactiveMongoTemplate mongoTemplate, int users, int tasksPerUser) {
+        List<ObjectId> userIds = new ArrayList<>(users);
+        for(int i = 0; i < users; i++) userIds.add(new ObjectId());
+
+        mongoTemplate.indexOps(Task.class).ensureIndex(new Index().on("userId", Sort.Direction.ASC)).block();
+
+        // Round-robin over users so consecutive inserts belong to different users.
+        for(int round = 0; round < tasksPerUser; round++) {
+            ArrayList<Task> batch = new ArrayList<>(users);
+            for(ObjectId userId : userIds) {
+                batch.add(Task.builder().title("Benchmark Task " + round).description("Seeded for the layout benchmark").userId(userId).build());
+            }
+            mongoTemplate.insertAll(batch).blockLast();
+        }
+        return userIds;
+    }
+
+    private static double fetch(TaskRepository repository, List<ObjectId> userIds, int fetches) {
+        long start = System.nanoTime();
+        for(int i = 0; i < fetches; i++) {
+            ObjectId userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+            repository.getAllTasksForOneUserAccount(userId).count().block();
+        }
+        return (System.nanoTime() - start) / 1e6 / fetches;
+    }
+}
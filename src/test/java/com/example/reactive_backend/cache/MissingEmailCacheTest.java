@@ -0,0 +1,55 @@
+package com.example.reactive_backend.cache;
+
+import com.example.reactive_backend.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MissingEmailCacheTest {
+    private final MissingEmailCacheProperties properties = new MissingEmailCacheProperties();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private Mono<String> missing() {
+        return Mono.fromSupplier(() -> {
+            lookups.incrementAndGet();
+            return null;
+        });
+    }
+
+    @Test
+    @Description("Test that a repeated miss is answered without calling the loader until it expires.")
+    void testMissIsRememberedUntilTtl() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-06-21T09:30:00Z"));
+        MissingEmailCache cache = new MissingEmailCache(properties, clock);
+
+        StepVerifier.create(cache.lookup("nobody@example.com", this::missing)).verifyComplete();
+        StepVerifier.create(cache.lookup("nobody@example.com", this::missing)).verifyComplete();
+        assertThat(lookups.get()).isEqualTo(1);
+
+        clock.advance(properties.getTtl().plusSeconds(1));
+        StepVerifier.create(cache.lookup("nobody@example.com", this::missing)).verifyComplete();
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Test that forgetting an email, including during a lookup, makes the next lookup reach the loader.")
+    void testForgetClearsAndBlocksInFlightMiss() {
+        MissingEmailCache cache = new MissingEmailCache(properties);
+
+        cache.lookup("new@example.com", this::missing).block();
+        cache.forget("new@example.com");
+        cache.lookup("late@example.com", () -> {
+            cache.forget("late@example.com");
+            return missing();
+        }).block();
+
+        assertThat(cache.size()).isZero();
+        StepVerifier.create(cache.lookup("new@example.com", () -> Mono.just("found"))).expectNext("found").verifyComplete();
+    }
+}
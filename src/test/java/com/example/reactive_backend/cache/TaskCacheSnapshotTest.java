@@ -0,0 +1,88 @@
+package com.example.reactive_backend.cache;
+
+import com.example.reactive_backend.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskCacheSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private TaskResponseCache cache() {
+        return new TaskResponseCache(new ObjectMapper(), new TaskResponseCacheProperties());
+    }
+
+    private void load(TaskResponseCache cache, ObjectId id, Long version) {
+        cache.getOrLoad(id, () -> Mono.just(Task.builder().id(id).title("Snapshot Task Title").version(version).build()),
+                DefaultDataBufferFactory.sharedInstance).block();
+    }
+
+    @Test
+    @Description("Test that the hottest entries survive a write and read of the snapshot file with their versions and bodies.")
+    void testSnapshotRoundTrip() throws Exception {
+        TaskResponseCache cache = cache();
+        ObjectId cold = new ObjectId();
+        ObjectId hot = new ObjectId();
+        load(cache, cold, 3L);
+        load(cache, hot, null);
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Path file = directory.resolve("task-response.snapshot");
+        TaskCacheSnapshot.write(file, cache.hottest(10), createdAt);
+        TaskCacheSnapshot.Snapshot snapshot = TaskCacheSnapshot.read(file);
+
+        assertThat(snapshot.createdAt()).isEqualTo(createdAt);
+        assertThat(snapshot.entries()).extracting(TaskResponseCache.SnapshotEntry::id).containsExactly(hot, cold);
+        assertThat(snapshot.entries()).extracting(TaskResponseCache.SnapshotEntry::version).containsExactly(TaskResponseCache.NO_VERSION, 3L);
+        assertThat(StandardCharsets.UTF_8.decode(snapshot.entries().get(1).body()).toString()).contains(cold.toHexString());
+    }
+
+    @Test
+    @Description("Test that restored entries are served without calling the loader and are not restored twice.")
+    void testRestoreFillsCache() throws Exception {
+        TaskResponseCache source = cache();
+        ObjectId id = new ObjectId();
+        load(source, id, 1L);
+        Path file = directory.resolve("task-response.snapshot");
+        TaskCacheSnapshot.write(file, source.hottest(10), Instant.now());
+
+        TaskResponseCache restored = cache();
+        List<TaskResponseCache.SnapshotEntry> entries = TaskCacheSnapshot.read(file).entries();
+
+        assertThat(restored.restore(entries.get(0), restored.generation())).isTrue();
+        assertThat(restored.restore(entries.get(0), restored.generation())).isFalse();
+        assertThat(restored.getOrLoad(id, Mono::empty, DefaultDataBufferFactory.sharedInstance).block()).isNotNull();
+    }
+
+    @Test
+    @Description("Test that an entry is not restored when the Task was invalidated after its version was looked up.")
+    void testRestoreRejectsEntryInvalidatedDuringLookup() throws Exception {
+        TaskResponseCache source = cache();
+        ObjectId id = new ObjectId();
+        load(source, id, 1L);
+        Path file = directory.resolve("task-response.snapshot");
+        TaskCacheSnapshot.write(file, source.hottest(10), Instant.now());
+
+        TaskResponseCache restored = cache();
+        List<TaskResponseCache.SnapshotEntry> entries = TaskCacheSnapshot.read(file).entries();
+        long seenGeneration = restored.generation();
+        restored.invalidate(id);
+
+        assertThat(restored.restore(entries.get(0), seenGeneration)).isFalse();
+        assertThat(restored.size()).isZero();
+    }
+}
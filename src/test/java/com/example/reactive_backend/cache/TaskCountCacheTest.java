@@ -0,0 +1,73 @@
+package com.example.reactive_backend.cache;
+
+import com.example.reactive_backend.MutableClock;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskCountCacheTest {
+    private static final TaskCountCache.Key TOTAL = new TaskCountCache.Key(null, null, null);
+
+    private final TaskCountCacheProperties properties = new TaskCountCacheProperties();
+    private final AtomicInteger counts = new AtomicInteger();
+
+    private Mono<Long> count(long value) {
+        return Mono.fromSupplier(() -> {
+            counts.incrementAndGet();
+            return value;
+        });
+    }
+
+    @Test
+    @Description("Test that a count is served from the cache until its TTL runs out.")
+    void testCountIsCachedUntilTtl() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-06-21T09:30:00Z"));
+        TaskCountCache cache = new TaskCountCache(properties, clock);
+
+        StepVerifier.create(cache.get(TOTAL, () -> count(42))).expectNext(42L).verifyComplete();
+        StepVerifier.create(cache.get(TOTAL, () -> count(43))).expectNext(42L).verifyComplete();
+        assertThat(counts.get()).isEqualTo(1);
+
+        clock.advance(properties.getTtl().plusSeconds(1));
+        StepVerifier.create(cache.get(TOTAL, () -> count(43))).expectNext(43L).verifyComplete();
+        assertThat(counts.get()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Test that a write by one user drops that user's counts and the unscoped ones, not other users' counts.")
+    void testInvalidateDropsUserAndUnscopedCounts() {
+        TaskCountCache cache = new TaskCountCache(properties);
+        ObjectId writer = new ObjectId();
+        ObjectId other = new ObjectId();
+
+        cache.get(TOTAL, () -> count(10)).block();
+        cache.get(new TaskCountCache.Key(null, false, null), () -> count(4)).block();
+        cache.get(new TaskCountCache.Key(writer, false, null), () -> count(2)).block();
+        cache.get(new TaskCountCache.Key(other, false, null), () -> count(1)).block();
+
+        cache.invalidate(writer);
+
+        assertThat(cache.size()).isEqualTo(1);
+        StepVerifier.create(cache.get(new TaskCountCache.Key(other, false, null), () -> count(99))).expectNext(1L).verifyComplete();
+    }
+
+    @Test
+    @Description("Test that a count loaded while a write invalidated the cache is not kept.")
+    void testInvalidateDuringLoadIsNotCached() {
+        TaskCountCache cache = new TaskCountCache(properties);
+
+        cache.get(TOTAL, () -> {
+            cache.invalidateAll();
+            return count(7);
+        }).block();
+
+        assertThat(cache.size()).isZero();
+    }
+}
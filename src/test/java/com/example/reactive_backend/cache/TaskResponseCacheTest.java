@@ -0,0 +1,111 @@
+package com.example.reactive_backend.cache;
+
+import com.example.reactive_backend.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskResponseCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private TaskResponseCache cache(DataSize maxSize) {
+        TaskResponseCacheProperties properties = new TaskResponseCacheProperties();
+        properties.setMaxSize(maxSize);
+        return new TaskResponseCache(objectMapper, properties);
+    }
+
+    private Task task(ObjectId id) {
+        return Task.builder().id(id).title("Cached Task Title").description("The description of a cached Task").completed(false).build();
+    }
+
+    private String read(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @Description("Test that a second read is served from the cache without calling the loader.")
+    void testCacheHitSkipsLoader() {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+        ObjectId id = new ObjectId();
+        AtomicInteger loads = new AtomicInteger();
+
+        for(int i = 0; i < 2; i++) {
+            StepVerifier.create(cache.getOrLoad(id, () -> Mono.fromSupplier(() -> {
+                        loads.incrementAndGet();
+                        return task(id);
+                    }), bufferFactory))
+                    .consumeNextWith(buffer -> assertThat(read(buffer)).contains(id.toHexString()))
+                    .verifyComplete();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Test that an invalidated entry is loaded again on the next read.")
+    void testInvalidateForcesReload() {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+        ObjectId id = new ObjectId();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(id, () -> Mono.fromSupplier(() -> { loads.incrementAndGet(); return task(id); }), bufferFactory).block();
+        cache.invalidate(id);
+        cache.getOrLoad(id, () -> Mono.fromSupplier(() -> { loads.incrementAndGet(); return task(id); }), bufferFactory).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Test that an invalidation during a load keeps the loaded value out of the cache.")
+    void testInvalidateDuringLoadIsNotCached() {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+        ObjectId id = new ObjectId();
+
+        cache.getOrLoad(id, () -> Mono.fromSupplier(() -> {
+            cache.invalidate(id);
+            return task(id);
+        }), bufferFactory).block();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @Description("Test that the least recently used entries are evicted once the size limit is reached.")
+    void testEvictsLeastRecentlyUsed() throws Exception {
+        int entrySize = objectMapper.writeValueAsBytes(task(new ObjectId())).length;
+        TaskResponseCache cache = cache(DataSize.ofBytes(entrySize * 2L));
+
+        for(int i = 0; i < 5; i++) {
+            ObjectId id = new ObjectId();
+            cache.getOrLoad(id, () -> Mono.just(task(id)), bufferFactory).block();
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(entrySize * 2L);
+    }
+
+    @Test
+    @Description("Test that an empty load completes empty and caches nothing.")
+    void testEmptyLoadIsNotCached() {
+        TaskResponseCache cache = cache(DataSize.ofMegabytes(1));
+
+        StepVerifier.create(cache.getOrLoad(new ObjectId(), Mono::empty, bufferFactory))
+                .verifyComplete();
+
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.reactive_backend.controller;
 import com.example.reactive_backend.errorhandling.exception.*;
 import com.example.reactive_backend.model.Task;
 import com.example.reactive_backend.service.TaskService;
+import com.example.reactive_backend.traffic.HeavyHitters;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,11 +25,13 @@ import static org.mockito.Mockito.*;
 public class TaskControllerTest {
     @Mock
     private TaskService service;
+    @Mock
+    private HeavyHitters heavyHitters;
     @InjectMocks
     private TaskController controller;
 
     @Test
-    @Description("Tests a 200 response for the getAllTasks() endpoint workflow and returns data.")
+    @Description("Tests a 200 response for the getTasks() endpoint without filters workflow and returns data.")
     void testGetAllTasksEndpointHappyPathWithData() {
         Task task1 = Task.builder().id(new ObjectId()).title("Test Title One").description("The testing description for test Title One").completed(false).build();
         Task task2 = Task.builder().id(new ObjectId()).title("Test Title Two").description("The testing description for test Title Two").completed(true).build();
@@ -37,7 +40,7 @@ public class TaskControllerTest {
 
         when(service.getAllTasks()).thenReturn(taskFlux);
 
-        Flux<Task> res = controller.getAllTasks();
+        Flux<Task> res = controller.getTasks(null, null, null, null);
 
         StepVerifier.create(res)
                 .expectNext(task1)
@@ -47,11 +50,11 @@ public class TaskControllerTest {
     }
 
     @Test
-    @Description("Tests a 200 response for the getAllTasks() endpoint workflow and returns an empty Flux.")
+    @Description("Tests a 200 response for the getTasks() endpoint without filters workflow and returns an empty Flux.")
     void testGetAllTasksEndpointHappyPathWithEmptyData() {
         when(service.getAllTasks()).thenReturn(Flux.empty());
 
-        Flux<Task> res = controller.getAllTasks();
+        Flux<Task> res = controller.getTasks(null, null, null, null);
 
         StepVerifier.create(res)
                 .expectComplete()
@@ -59,11 +62,11 @@ public class TaskControllerTest {
     }
 
     @Test
-    @Description("Tests a 500 response for the getAllTasks() endpoint workflow and returns a RuntimeException class to show that the server failed.")
+    @Description("Tests a 500 response for the getTasks() endpoint without filters workflow and returns a RuntimeException class to show that the server failed.")
     void testGetAllTasksEndpointUnhappyPath() {
         when(service.getAllTasks()).thenReturn(Flux.error(new RuntimeException("An error occurred: ")));
 
-        Flux<Task> res = controller.getAllTasks();
+        Flux<Task> res = controller.getTasks(null, null, null, null);
 
         StepVerifier.create(res)
                 .expectError()
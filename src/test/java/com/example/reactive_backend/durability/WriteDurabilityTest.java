@@ -0,0 +1,78 @@
+package com.example.reactive_backend.durability;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WriteDurabilityTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @Description("Test that the default profiles turn into w:1 without journal, the client default, and majority with journal.")
+    void testDefaultProfiles() {
+        DurabilityProperties properties = new DurabilityProperties();
+        properties.getOperations().put(WriteOperation.TASK_CREATE_BULK, "fast");
+        WriteDurability durability = new WriteDurability(properties, registry);
+
+        assertThat(durability.writeConcern(WriteOperation.TASK_CREATE_BULK)).isEqualTo(new WriteConcern(1).withJournal(false));
+        assertThat(durability.writeConcern(WriteOperation.TASK_CREATE)).isNull();
+        assertThat(durability.writeConcern(WriteOperation.USER_ACCOUNT_CREATE))
+                .isEqualTo(WriteConcern.MAJORITY.withJournal(true).withWTimeout(5, TimeUnit.SECONDS));
+        assertThat(durability.profile(WriteOperation.USER_ACCOUNT_CREATE)).isEqualTo("strict");
+    }
+
+    @Test
+    @Description("Test that an operation pointing at an undefined profile and an unacknowledged profile fail at startup.")
+    void testRejectsInvalidConfiguration() {
+        DurabilityProperties unknown = new DurabilityProperties();
+        unknown.getOperations().put(WriteOperation.TASK_DELETE, "paranoid");
+        assertThatThrownBy(() -> new WriteDurability(unknown, registry)).isInstanceOf(IllegalStateException.class);
+
+        DurabilityProperties unacknowledged = new DurabilityProperties();
+        unacknowledged.getProfiles().get("fast").setW("0");
+        assertThatThrownBy(() -> new WriteDurability(unacknowledged, registry)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Description("Test that a write on the client default profile uses the given template and is timed under its profile.")
+    void testWriteIsTimedByProfile() {
+        WriteDurability durability = new WriteDurability(new DurabilityProperties(), registry);
+        ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+
+        StepVerifier.create(durability.write(WriteOperation.TASK_UPDATE, template, used -> Mono.just(used == template)))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertThat(registry.get("mongo.write").tag("profile", "standard").tag("operation", "task-update").timer().count()).isEqualTo(1);
+        assertThat(registry.get("mongo.write").tag("profile", "strict").tag("operation", "user-account-create").timer().count()).isZero();
+    }
+
+    @Test
+    @Description("Test that the profile database factory hands out databases carrying the profile's write concern.")
+    void testDatabaseFactoryAppliesWriteConcern() {
+        WriteConcern strict = WriteConcern.MAJORITY.withJournal(true).withWTimeout(Duration.ofSeconds(5).toMillis(), TimeUnit.MILLISECONDS);
+        ReactiveMongoDatabaseFactory delegate = mock(ReactiveMongoDatabaseFactory.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        MongoDatabase strictDatabase = mock(MongoDatabase.class);
+        when(delegate.getMongoDatabase()).thenReturn(Mono.just(database));
+        when(database.withWriteConcern(strict)).thenReturn(strictDatabase);
+
+        StepVerifier.create(new WriteConcernDatabaseFactory(delegate, strict).getMongoDatabase())
+                .expectNext(strictDatabase)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.reactive_backend.errorhandling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterExceptionHandlerTest {
+    private final FilterExceptionHandler handler = new FilterExceptionHandler(ServerCodecConfigurer.create());
+    private final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/task"));
+
+    @Test
+    @Description("Test that an error with a status raised outside a controller is answered with a problem detail.")
+    void testErrorResponseIsWrittenAsProblemDetail() {
+        StepVerifier.create(handler.handle(exchange, new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Key reused")))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .contains("\"status\":422", "\"instance\":\"/api/task\"", "\"httpMethod\":\"POST\"", "Key reused");
+    }
+
+    @Test
+    @Description("Test that errors without a status are left to the next handler.")
+    void testOtherErrorsArePassedOn() {
+        IllegalStateException error = new IllegalStateException("Boom");
+
+        StepVerifier.create(handler.handle(exchange, error))
+                .expectErrorMatches(err -> err == error)
+                .verify();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.reactive_backend.errorhandling;
+
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.errorhandling.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/task?id=685724022e21a9baae11f00c"));
+
+    private void assertProblem(RuntimeException exception, HttpStatus expectedStatus) {
+        StepVerifier.create(handler.returnProblemDetail(exception, exchange))
+                .consumeNextWith(response -> {
+                    ProblemDetail problem = response.getBody();
+                    assertThat(response.getStatusCode()).isEqualTo(expectedStatus);
+                    assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+                    assertThat(problem.getStatus()).isEqualTo(expectedStatus.value());
+                    assertThat(problem.getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(problem.getProperties()).containsEntry("httpMethod", "GET");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @Description("Test that each domain exception is answered with the status from the table.")
+    void testDomainExceptionsMapToTableStatus() {
+        assertProblem(new NotFoundException("Could not find task"), HttpStatus.NOT_FOUND);
+        assertProblem(new BadRequestException("Bad id"), HttpStatus.BAD_REQUEST);
+        assertProblem(new CouldNotInsertException("Could not insert"), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    @Description("Test that an unknown RuntimeException is answered with a 500 and its message as detail.")
+    void testUnknownExceptionMapsToServerError() {
+        StepVerifier.create(handler.returnProblemDetail(new IllegalStateException("Something broke"), exchange))
+                .consumeNextWith(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+                    assertThat(response.getBody().getDetail()).isEqualTo("Something broke");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @Description("Test that framework exceptions carrying their own status keep it.")
+    void testErrorResponseKeepsItsStatus() {
+        assertProblem(new ServerWebInputException("Missing request parameter"), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @Description("Test that domain exceptions do not capture a stack trace.")
+    void testDomainExceptionsAreStackless() {
+        assertThat(new NotFoundException("Could not find task").getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.reactive_backend.existence;
+
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.repository.InMemoryTaskRepository;
+import com.example.reactive_backend.repository.InMemoryUserAccountRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExistenceFilterTest {
+
+    @Test
+    @Description("Test that a growing filter never loses an added id and stays near its false positive rate.")
+    void testScalableFilterHasNoFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        List<ObjectId> added = new ArrayList<>();
+        for(int i = 0; i < 10_000; i++) {
+            ObjectId id = new ObjectId();
+            filter.add(id);
+            added.add(id);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+
+        int falsePositives = 0;
+        for(int i = 0; i < 100_000; i++) {
+            if(filter.mightContain(new ObjectId())) falsePositives++;
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.03);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.03);
+    }
+
+    @Test
+    @Description("Test that ids are only reported absent once the filter is built, and that created ids are recorded.")
+    void testAbsentOnlyAfterBuild() {
+        ExistenceFilterProperties properties = new ExistenceFilterProperties();
+        properties.setEnabled(true);
+        properties.setExpectedInsertions(1_000);
+        InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+        ObjectId stored = tasks.createOneTask(Task.builder().title("Stored Task").build()).block().getId();
+        ExistenceFilter filter = new ExistenceFilter(properties, tasks, new InMemoryUserAccountRepository());
+        ObjectId unknown = new ObjectId();
+
+        assertThat(filter.isKnownAbsent(ExistenceFilter.Kind.TASK, unknown)).isFalse();
+
+        filter.rebuild().block();
+        ObjectId created = new ObjectId();
+        filter.record(ExistenceFilter.Kind.TASK, created);
+
+        assertThat(filter.isKnownAbsent(ExistenceFilter.Kind.TASK, stored)).isFalse();
+        assertThat(filter.isKnownAbsent(ExistenceFilter.Kind.TASK, created)).isFalse();
+        assertThat(filter.isKnownAbsent(ExistenceFilter.Kind.TASK, unknown)).isTrue();
+        assertThat(filter.isKnownAbsent(ExistenceFilter.Kind.USER_ACCOUNT, stored)).isTrue();
+    }
+}
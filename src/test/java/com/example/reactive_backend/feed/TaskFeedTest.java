@@ -0,0 +1,108 @@
+package com.example.reactive_backend.feed;
+
+import com.example.reactive_backend.event.TaskEvent;
+import com.example.reactive_backend.model.Task;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskFeedTest {
+    private final TaskFeed feed = new TaskFeed(new TaskFeedProperties());
+
+    private TaskEvent event(TaskEvent.Type type, ObjectId userId) {
+        return new TaskEvent(type, Task.builder().id(new ObjectId()).title("Feed Task Title").userId(userId).build());
+    }
+
+    @Test
+    @Description("Test that a subscriber only receives the events of its own user.")
+    void testSubscriberReceivesOwnUsersEvents() {
+        ObjectId userId = new ObjectId();
+        TaskEvent own = event(TaskEvent.Type.CREATED, userId);
+
+        StepVerifier.create(feed.subscribe(userId))
+                .then(() -> {
+                    feed.onTaskEvent(event(TaskEvent.Type.CREATED, new ObjectId()));
+                    feed.onTaskEvent(own);
+                })
+                .expectNext(own)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @Description("Test that a Task moved to another user is announced to both the previous and the new owner.")
+    void testOwnerChangeReachesBothOwners() {
+        ObjectId previousOwner = new ObjectId();
+        ObjectId newOwner = new ObjectId();
+        TaskEvent moved = new TaskEvent(TaskEvent.Type.UPDATED,
+                Task.builder().id(new ObjectId()).title("Feed Task Title").userId(newOwner).build(), previousOwner);
+
+        StepVerifier.create(feed.subscribe(previousOwner).mergeWith(feed.subscribe(newOwner)))
+                .then(() -> feed.onTaskEvent(moved))
+                .expectNext(moved, moved)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @Description("Test that a subscriber without demand keeps only the newest events up to the buffer size.")
+    void testSlowSubscriberDropsOldest() {
+        TaskFeedProperties properties = new TaskFeedProperties();
+        properties.setBufferSize(2);
+        TaskFeed boundedFeed = new TaskFeed(properties);
+        ObjectId userId = new ObjectId();
+        TaskEvent second = event(TaskEvent.Type.UPDATED, userId);
+        TaskEvent third = event(TaskEvent.Type.DELETED, userId);
+
+        StepVerifier.create(boundedFeed.subscribe(userId), 0)
+                .then(() -> {
+                    boundedFeed.onTaskEvent(event(TaskEvent.Type.CREATED, userId));
+                    boundedFeed.onTaskEvent(second);
+                    boundedFeed.onTaskEvent(third);
+                })
+                .thenRequest(3)
+                .expectNext(second, third)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @Description("Test that events published for one user from many threads at once all reach the subscriber.")
+    void testConcurrentPublishersLoseNoEvents() {
+        ObjectId userId = new ObjectId();
+        List<TaskEvent> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = feed.subscribe(userId).subscribe(received::add);
+
+        Flux.range(0, 1_000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .doOnNext(i -> feed.onTaskEvent(event(TaskEvent.Type.UPDATED, userId)))
+                .sequential()
+                .blockLast();
+        subscription.dispose();
+
+        assertThat(received).hasSize(1_000);
+    }
+
+    @Test
+    @Description("Test that a user's channel is removed once its last subscriber leaves.")
+    void testChannelReleasedWithLastSubscriber() {
+        ObjectId userId = new ObjectId();
+
+        StepVerifier.create(feed.subscribe(userId))
+                .then(() -> assertThat(feed.userCount()).isEqualTo(1))
+                .thenCancel()
+                .verify();
+
+        assertThat(feed.userCount()).isZero();
+    }
+}
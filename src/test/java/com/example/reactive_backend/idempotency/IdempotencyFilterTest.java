@@ -0,0 +1,142 @@
+package com.example.reactive_backend.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyFilterTest {
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final IdempotencyStore store = new IdempotencyStore(properties);
+    private final IdempotencyFilter filter = new IdempotencyFilter(properties, store);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private MockServerWebExchange exchange(String key) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/task").header(IdempotencyFilter.KEY_HEADER, key));
+    }
+
+    private MockServerWebExchange exchange(String key, String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/task").header(IdempotencyFilter.KEY_HEADER, key).body(body));
+    }
+
+    private WebFilterChain respond(HttpStatus status, String body, Mono<Void> gate) {
+        return exchange -> gate.then(Mono.defer(() -> {
+            calls.incrementAndGet();
+            exchange.getResponse().setStatusCode(status);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+
+    private String body(MockServerWebExchange exchange) {
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    @Test
+    @Description("Test that a completed request is replayed for the same key without running the handler again.")
+    void testCompletedRequestIsReplayed() {
+        MockServerWebExchange first = exchange("key-1");
+        MockServerWebExchange retry = exchange("key-1");
+
+        filter.filter(first, respond(HttpStatus.CREATED, "{\"id\":\"1\"}", Mono.empty())).block();
+        filter.filter(retry, respond(HttpStatus.CREATED, "{\"id\":\"2\"}", Mono.empty())).block();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getResponse().getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(body(retry)).isEqualTo(body(first));
+    }
+
+    @Test
+    @Description("Test that a duplicate arriving while the first request runs waits for its result instead of running.")
+    void testInFlightDuplicateAttachesToOriginal() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        MockServerWebExchange first = exchange("key-2");
+        MockServerWebExchange duplicate = exchange("key-2");
+
+        Mono<Void> original = filter.filter(first, respond(HttpStatus.CREATED, "{\"id\":\"1\"}", gate.asMono())).cache();
+        original.subscribe();
+        Mono<Void> attached = filter.filter(duplicate, respond(HttpStatus.CREATED, "{\"id\":\"2\"}", Mono.empty()));
+
+        StepVerifier.create(attached)
+                .then(gate::tryEmitEmpty)
+                .verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(body(duplicate)).isEqualTo("{\"id\":\"1\"}");
+    }
+
+    @Test
+    @Description("Test that server errors and requests without a key are not remembered.")
+    void testServerErrorsAndMissingKeysRunAgain() {
+        filter.filter(exchange("key-3"), respond(HttpStatus.INTERNAL_SERVER_ERROR, "{}", Mono.empty())).block();
+        filter.filter(exchange("key-3"), respond(HttpStatus.CREATED, "{}", Mono.empty())).block();
+
+        for(int i = 0; i < 2; i++) {
+            ServerWebExchange noKey = MockServerWebExchange.from(MockServerHttpRequest.post("/api/task"));
+            filter.filter(noKey, respond(HttpStatus.CREATED, "{}", Mono.empty())).block();
+        }
+
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Test that a key reused with a different body is refused with 422 and does not run the handler.")
+    void testKeyReusedForDifferentRequestIsRejected() {
+        filter.filter(exchange("key-4", "{\"title\":\"First\"}"), respond(HttpStatus.CREATED, "{\"id\":\"1\"}", Mono.empty())).block();
+
+        StepVerifier.create(filter.filter(exchange("key-4", "{\"title\":\"Second\"}"), respond(HttpStatus.CREATED, "{\"id\":\"2\"}", Mono.empty())))
+                .expectErrorSatisfies(err -> assertThat(((ResponseStatusException) err).getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY))
+                .verify();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Test that the handler still receives the request body the filter read for the fingerprint.")
+    void testHandlerReadsBodyAfterFingerprint() {
+        MockServerWebExchange request = exchange("key-5", "{\"title\":\"Body\"}");
+        WebFilterChain echo = exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .flatMap(body -> exchange.getResponse().writeWith(Mono.just(body)));
+
+        filter.filter(request, echo).block();
+
+        assertThat(body(request)).isEqualTo("{\"title\":\"Body\"}");
+    }
+
+    @Test
+    @Description("Test that a response over the size limit streams through in full and is not kept for a retry.")
+    void testOversizedResponsePassesThroughUnrecorded() {
+        properties.setMaxResponseSize(DataSize.ofBytes(8));
+        WebFilterChain chunked = exchange -> {
+            calls.incrementAndGet();
+            DataBufferFactory factory = exchange.getResponse().bufferFactory();
+            return exchange.getResponse().writeWith(Flux.just("{\"id\":", "\"1\",", "\"title\":\"Large\"}")
+                    .map(part -> factory.wrap(part.getBytes(StandardCharsets.UTF_8))));
+        };
+        MockServerWebExchange first = exchange("key-6");
+
+        filter.filter(first, chunked).block();
+        filter.filter(exchange("key-6"), chunked).block();
+
+        assertThat(body(first)).isEqualTo("{\"id\":\"1\",\"title\":\"Large\"}");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+}
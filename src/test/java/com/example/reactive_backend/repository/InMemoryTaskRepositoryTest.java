@@ -0,0 +1,102 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.model.Task;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryTaskRepositoryTest {
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+
+    private Task task(ObjectId userId) {
+        return Task.builder().title("In Memory Task Title").description("The description of an in-memory Task").userId(userId).build();
+    }
+
+    @Test
+    @Description("Test that a created Task gets an id and version and is found by id and by its user.")
+    void testCreateAndRead() {
+        ObjectId userId = new ObjectId();
+        Task created = repository.createOneTask(task(userId)).block();
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getVersion()).isZero();
+        StepVerifier.create(repository.getOneTask(created.getId())).expectNext(created).verifyComplete();
+        StepVerifier.create(repository.getAllTasksForOneUserAccount(userId)).expectNext(created).verifyComplete();
+        StepVerifier.create(repository.getAllTasksForOneUserAccount(new ObjectId())).verifyComplete();
+    }
+
+    @Test
+    @Description("Test that changing the userId moves the Task in the userId index and bumps the version.")
+    void testUpdateMovesUserIndex() {
+        ObjectId oldOwner = new ObjectId();
+        ObjectId newOwner = new ObjectId();
+        Task created = repository.createOneTask(task(oldOwner)).block();
+
+        Task updated = repository.updateOneTask(created.getId(), created.toBuilder().userId(newOwner).completed(true).build()).block();
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getCompletedAt()).isNotNull();
+        StepVerifier.create(repository.getAllTasksForOneUserAccount(oldOwner)).verifyComplete();
+        StepVerifier.create(repository.getAllTasksForOneUserAccount(newOwner)).expectNext(updated).verifyComplete();
+    }
+
+    @Test
+    @Description("Test that updating or deleting a missing Task completes empty and that duplicate ids are rejected.")
+    void testMissingAndDuplicate() {
+        Task created = repository.createOneTask(task(new ObjectId())).block();
+
+        StepVerifier.create(repository.updateOneTask(new ObjectId(), created)).verifyComplete();
+        StepVerifier.create(repository.deleteOneTask(new ObjectId())).verifyComplete();
+        StepVerifier.create(repository.createOneTask(created)).expectError(CouldNotInsertException.class).verify();
+        StepVerifier.create(repository.deleteOneTask(created.getId())).expectNext(created).verifyComplete();
+        assertThat(repository.size()).isZero();
+    }
+
+    @Test
+    @Description("Test that returned Tasks are copies, changing them does not change the stored Task.")
+    void testReturnsCopies() {
+        Task created = repository.createOneTask(task(new ObjectId())).block();
+        created.setTitle("Changed Outside");
+
+        assertThat(repository.getOneTask(created.getId()).block().getTitle()).isEqualTo("In Memory Task Title");
+    }
+
+    @Test
+    @Description("Test that concurrent inserts for the same user all end up in the userId index.")
+    void testConcurrentInsertsKeepIndexComplete() {
+        ObjectId userId = new ObjectId();
+
+        Flux.range(0, 2_000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> repository.createOneTask(task(userId)))
+                .sequential()
+                .blockLast();
+
+        assertThat(repository.getAllTasksForOneUserAccount(userId).count().block()).isEqualTo(2_000);
+        List<Task> all = repository.getAllTasks().collectList().block();
+        assertThat(all).hasSize(2_000);
+        assertThat(new ArrayList<>(all)).isSortedAccordingTo((a, b) -> a.getId().compareTo(b.getId()));
+    }
+
+    @Test
+    @Description("Test that deleting Tasks for a user only removes the ones that user owns.")
+    void testDeleteTasksIsScopedToOwner() {
+        ObjectId owner = new ObjectId();
+        Task owned = repository.createOneTask(task(owner)).block();
+        Task foreign = repository.createOneTask(task(new ObjectId())).block();
+
+        StepVerifier.create(repository.deleteTasks(owner, List.of(owned.getId(), foreign.getId(), new ObjectId()))).expectNext(1L).verifyComplete();
+        StepVerifier.create(repository.getOneTask(owned.getId())).verifyComplete();
+        StepVerifier.create(repository.getOneTask(foreign.getId())).expectNext(foreign).verifyComplete();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.reactive_backend.repository;
 
+import com.example.reactive_backend.durability.WriteDurability;
 import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
 import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
 import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.annotation.Description;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
@@ -29,12 +31,16 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
-public class TaskRepositoryTest {
+public class MongoTaskRepositoryTest {
     @Mock
     private ReactiveMongoTemplate db;
 
+    // Every write on the client's write concern, so the stubs on db see the calls.
+    @Spy
+    private WriteDurability writeDurability = WriteDurability.clientDefault();
+
     @InjectMocks
-    private TaskRepository repository;
+    private MongoTaskRepository repository;
 
     @Test
     @Description("Test getAllTasks() in the repository layer with data being returned.")
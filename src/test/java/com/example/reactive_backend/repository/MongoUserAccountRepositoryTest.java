@@ -0,0 +1,51 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.errorhandling.exception.ConflictException;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.model.UserAccount;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MongoUserAccountRepositoryTest {
+    private final UserAccount account = UserAccount.builder().email("taken@example.com").build();
+
+    // Spring translates the driver's write error into a DuplicateKeyException with the driver exception as its cause.
+    private DuplicateKeyException duplicateKey(int code, String serverMessage) {
+        MongoWriteException cause = new MongoWriteException(new WriteError(code, serverMessage, new BsonDocument()), new ServerAddress(), Set.of());
+        return new DuplicateKeyException("Write operation error on server localhost:27017", cause);
+    }
+
+    @Test
+    @Description("Test that a duplicate key on the email index is reported as a conflict on the email.")
+    void testDuplicateEmailIsConflict() {
+        DuplicateKeyException err = duplicateKey(11000, "E11000 duplicate key error collection: db.user_accounts index: email_unique dup key: { email: \"taken@example.com\" }");
+
+        assertThat(MongoUserAccountRepository.insertError(account, err)).isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @Description("Test that a duplicate key on any other index, like _id, is not mistaken for a taken email.")
+    void testDuplicateIdIsNotConflict() {
+        DuplicateKeyException err = duplicateKey(11000, "E11000 duplicate key error collection: db.user_accounts index: _id_ dup key: { _id: ObjectId('685724022e21a9baae11f00c') }");
+
+        assertThat(MongoUserAccountRepository.insertError(account, err)).isInstanceOf(CouldNotInsertException.class);
+    }
+
+    @Test
+    @Description("Test that an error mentioning the email index is not a conflict unless the server reported a duplicate key.")
+    void testOtherWriteErrorIsNotConflict() {
+        DuplicateKeyException err = duplicateKey(121, "Document failed validation on index: email_unique dup key");
+
+        assertThat(MongoUserAccountRepository.insertError(account, err)).isInstanceOf(CouldNotInsertException.class);
+        assertThat(MongoUserAccountRepository.insertError(account, new RuntimeException("index: email_unique dup key"))).isInstanceOf(CouldNotInsertException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.reactive_backend.repository;
+
+import com.example.reactive_backend.errorhandling.exception.BadRequestException;
+import com.example.reactive_backend.model.Task;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.data.domain.Sort;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TaskQueryPlannerTest {
+    private final TaskQueryPlanner planner = new TaskQueryPlanner();
+
+    @Test
+    @Description("Test that each supported combination of filters and sort is planned on the index that covers it.")
+    void testPlansOnCoveringIndex() {
+        ObjectId userId = new ObjectId();
+
+        assertThat(planner.plan(userId, false, "Wee", "-title").plan().index()).isEqualTo("userId_completed_title");
+        assertThat(planner.plan(userId, null, null, "title").plan().index()).isEqualTo("userId_title");
+        assertThat(planner.plan(null, true, "Wee", null).plan().index()).isEqualTo("completed_title");
+        assertThat(planner.plan(null, null, "Wee", "title").plan().index()).isEqualTo("title");
+        assertThat(planner.plan(null, null, null, "-id").plan().index()).isEqualTo("_id_");
+        assertThat(planner.plan(userId, false, null, "-title").plan().sort()).isEqualTo(Sort.by(Sort.Order.desc("title")));
+    }
+
+    @Test
+    @Description("Test that shapes no index answers without a scan or an in-memory sort are rejected.")
+    void testRejectsUncoveredShapes() {
+        assertThatThrownBy(() -> planner.plan(new ObjectId(), null, null, "id")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> planner.plan(null, null, "Wee", "id")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> planner.plan(null, null, null, "description")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> planner.plan(null, null, null, "title,-id")).isInstanceOf(BadRequestException.class);
+        assertThat(planner.cachedShapes()).isZero();
+    }
+
+    @Test
+    @Description("Test that requests with the same shape share one cached plan and only bind their own values.")
+    void testCachesPlanPerShape() {
+        TaskQuery first = planner.plan(new ObjectId(), true, null, "title");
+        TaskQuery second = planner.plan(new ObjectId(), true, null, "title");
+
+        assertThat(second.plan()).isSameAs(first.plan());
+        assertThat(second.userId()).isNotEqualTo(first.userId());
+        assertThat(planner.cachedShapes()).isEqualTo(1);
+
+        planner.plan(new ObjectId(), false, "Wee", "title");
+        assertThat(planner.cachedShapes()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Test that the Mongo query holds the bound filters, an escaped anchored title prefix and the sort.")
+    void testBuildsMongoQuery() {
+        ObjectId userId = new ObjectId();
+        TaskQuery query = planner.plan(userId, false, "a.b", "title");
+
+        Document filter = query.toMongoQuery().getQueryObject();
+        assertThat(filter.get("userId")).isEqualTo(userId);
+        assertThat(filter.get("completed")).isEqualTo(false);
+        assertThat(filter.get("title").toString()).contains("^\\Qa.b\\E");
+        assertThat(query.toMongoQuery().getSortObject()).isEqualTo(new Document("title", 1));
+    }
+
+    @Test
+    @Description("Test that adapters without indexes filter and sort the user's Tasks in memory the same way.")
+    void testInMemoryAdapterFiltersAndSorts() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        ObjectId userId = new ObjectId();
+        repository.createTasks(new ArrayList<>(List.of(
+                Task.builder().title("Water the plants").userId(userId).build(),
+                Task.builder().title("Wash the car").userId(userId).build(),
+                Task.builder().title("Walk the dog").userId(userId).completed(true).build(),
+                Task.builder().title("Wash the dishes").userId(new ObjectId()).build()))).blockLast();
+
+        StepVerifier.create(repository.findTasks(planner.plan(userId, false, "Wa", "-title")).map(Task::getTitle))
+                .expectNext("Water the plants", "Wash the car")
+                .verifyComplete();
+    }
+}
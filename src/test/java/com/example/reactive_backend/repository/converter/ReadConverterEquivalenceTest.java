@@ -0,0 +1,89 @@
+package com.example.reactive_backend.repository.converter;
+
+import com.example.reactive_backend.config.MongoConfig;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.model.UserAccount;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadConverterEquivalenceTest {
+    private MappingMongoConverter reflectiveConverter;
+    private MappingMongoConverter registeredConverter;
+
+    @BeforeEach
+    void setUp() {
+        reflectiveConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        reflectiveConverter.afterPropertiesSet();
+
+        registeredConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        registeredConverter.setCustomConversions(new MongoConfig().mongoCustomConversions());
+        registeredConverter.afterPropertiesSet();
+    }
+
+    private Document write(Object source) {
+        Document document = new Document();
+        reflectiveConverter.write(source, document);
+        return document;
+    }
+
+    @Test
+    @Description("Test that TaskReadConverter builds the same Task as the reflective mapping for a fully populated document.")
+    void testTaskReadConverterMatchesMapping() {
+        Task task = Task.builder().id(new ObjectId()).title("Converter Title").description("The converter description").completed(true).userId(new ObjectId())
+                .completedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS)).build();
+        Document document = write(task);
+
+        Task expected = reflectiveConverter.read(Task.class, document);
+
+        assertThat(new TaskReadConverter().convert(document)).isEqualTo(expected).isEqualTo(task);
+        assertThat(registeredConverter.read(Task.class, document)).isEqualTo(expected);
+    }
+
+    @Test
+    @Description("Test that TaskReadConverter matches the reflective mapping when optional fields are missing.")
+    void testTaskReadConverterMatchesMappingWithMissingFields() {
+        Document document = new Document("_id", new ObjectId()).append("title", "Only A Title");
+
+        assertThat(new TaskReadConverter().convert(document)).isEqualTo(reflectiveConverter.read(Task.class, document));
+    }
+
+    @Test
+    @Description("Test that UserAccountReadConverter builds the same UserAccount as the reflective mapping.")
+    void testUserAccountReadConverterMatchesMapping() {
+        UserAccount account = UserAccount.builder()
+                .id(new ObjectId())
+                .firstName("First")
+                .lastName("Last")
+                .email("first.last@example.com")
+                .password("password")
+                .taskIds(new ArrayList<>(List.of(new ObjectId(), new ObjectId())))
+                .build();
+        Document document = write(account);
+
+        UserAccount expected = reflectiveConverter.read(UserAccount.class, document);
+
+        assertThat(new UserAccountReadConverter().convert(document)).isEqualTo(expected).isEqualTo(account);
+        assertThat(registeredConverter.read(UserAccount.class, document)).isEqualTo(expected);
+    }
+
+    @Test
+    @Description("Test that UserAccountReadConverter matches the reflective mapping when taskIds is missing.")
+    void testUserAccountReadConverterMatchesMappingWithoutTaskIds() {
+        Document document = new Document("_id", new ObjectId()).append("email", "first.last@example.com");
+
+        assertThat(new UserAccountReadConverter().convert(document)).isEqualTo(reflectiveConverter.read(UserAccount.class, document));
+    }
+}
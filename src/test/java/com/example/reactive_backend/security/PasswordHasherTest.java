@@ -0,0 +1,83 @@
+package com.example.reactive_backend.security;
+
+import com.example.reactive_backend.errorhandling.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PasswordHasherTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    private PasswordHasher hasher(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMinCost(4);
+        properties.setMaxCost(6);
+        properties.setTargetLatency(Duration.ofMillis(1));
+        hasher = new PasswordHasher(properties, meterRegistry);
+        return hasher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.destroy();
+    }
+
+    @Test
+    @Description("Test that a hash verifies against its password only, off the calling thread, and is timed.")
+    void testHashAndMatch() {
+        PasswordHasher hasher = hasher(1, 4);
+        String encoded = hasher.hash("correct horse").block();
+
+        assertThat(encoded).startsWith("$2").doesNotContain("correct horse");
+        StepVerifier.create(hasher.matches("correct horse", encoded)).expectNext(true).verifyComplete();
+        StepVerifier.create(hasher.matches("wrong horse", encoded)).expectNext(false).verifyComplete();
+        StepVerifier.create(hasher.hash("x").map(hash -> Thread.currentThread().getName()))
+                .assertNext(thread -> assertThat(thread).startsWith("password-hash-"))
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("password.hash").tag("operation", "hash").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("password.hash.queue.wait").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    @Description("Test that a missing hash never matches but is still verified, like a stored one.")
+    void testMatchesNothingIsTimedLikeAVerification() {
+        PasswordHasher hasher = hasher(1, 4);
+
+        StepVerifier.create(hasher.matchesNothing("dummy password")).expectNext(false).verifyComplete();
+        StepVerifier.create(hasher.matches("any", null)).expectNext(false).verifyComplete();
+
+        assertThat(meterRegistry.get("password.hash").tag("operation", "verify").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Test that hashes stored with a lower cost than the current one, or not as BCrypt, need a rehash.")
+    void testNeedsRehash() {
+        PasswordHasher hasher = hasher(1, 4);
+
+        assertThat(hasher.needsRehash(hasher.hash("password").block())).isFalse();
+        assertThat(hasher.needsRehash("$2a$03$abcdefghijklmnopqrstuuKsVQvHoWYCHhpoXqXzGEL9W3LvKSZ2u")).isTrue();
+        assertThat(hasher.needsRehash("plain text")).isTrue();
+    }
+
+    @Test
+    @Description("Test that work beyond the queue capacity is rejected with a ServiceBusyException.")
+    void testRejectsWhenQueueIsFull() {
+        PasswordHasher hasher = hasher(1, 1);
+
+        StepVerifier.create(Flux.range(0, 16).flatMap(i -> hasher.hash("password-" + i), 16).then())
+                .expectError(ServiceBusyException.class)
+                .verify(Duration.ofSeconds(30));
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isPositive();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.reactive_backend.serialization;
+
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.model.UserAccount;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectIdSerializationTest {
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private final Task task = Task.builder()
+            .id(new ObjectId("685724022e21a9baae11f00c"))
+            .title("Serialization Title")
+            .description("The description used to test ObjectId serialization")
+            .completed(true)
+            .userId(new ObjectId("685724022e21a9baae11f00f"))
+            .build();
+
+    @Test
+    @Description("Test that JSON still writes ObjectIds as hex strings and reads them back.")
+    void testJsonWritesHexStrings() throws Exception {
+        String json = jsonMapper.writeValueAsString(task);
+
+        assertThat(json).contains("\"id\":\"685724022e21a9baae11f00c\"");
+        assertThat(json).contains("\"userId\":\"685724022e21a9baae11f00f\"");
+        assertThat(jsonMapper.readValue(json, Task.class)).isEqualTo(task);
+    }
+
+    @Test
+    @Description("Test that CBOR writes ObjectIds as 12 raw bytes and reads them back.")
+    void testCborWritesRawBytes() throws Exception {
+        byte[] cbor = cborMapper.writeValueAsBytes(task);
+        JsonNode node = cborMapper.readTree(cbor);
+
+        assertThat(node.get("id").isBinary()).isTrue();
+        assertThat(node.get("id").binaryValue()).hasSize(12);
+        assertThat(cborMapper.readValue(cbor, Task.class)).isEqualTo(task);
+        assertThat(cbor.length).isLessThan(jsonMapper.writeValueAsBytes(task).length);
+    }
+
+    @Test
+    @Description("Test that Smile writes ObjectIds as 12 raw bytes and reads them back.")
+    void testSmileWritesRawBytes() throws Exception {
+        byte[] smile = smileMapper.writeValueAsBytes(task);
+
+        assertThat(smileMapper.readTree(smile).get("userId").binaryValue()).hasSize(12);
+        assertThat(smileMapper.readValue(smile, Task.class)).isEqualTo(task);
+    }
+
+    @Test
+    @Description("Test that the taskIds list of a UserAccount is written element by element.")
+    void testUserAccountTaskIdsRoundTrip() throws Exception {
+        UserAccount account = UserAccount.builder()
+                .id(new ObjectId())
+                .firstName("First")
+                .lastName("Last")
+                .email("first.last@example.com")
+                .taskIds(new ArrayList<>(List.of(new ObjectId(), new ObjectId())))
+                .build();
+
+        String json = jsonMapper.writeValueAsString(account);
+
+        assertThat(jsonMapper.readTree(json).get("taskIds").isArray()).isTrue();
+        assertThat(jsonMapper.readValue(json, UserAccount.class)).isEqualTo(account);
+        assertThat(cborMapper.readValue(cborMapper.writeValueAsBytes(account), UserAccount.class)).isEqualTo(account);
+    }
+}
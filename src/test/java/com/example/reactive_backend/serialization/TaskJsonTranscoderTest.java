@@ -0,0 +1,92 @@
+package com.example.reactive_backend.serialization;
+
+import com.example.reactive_backend.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskJsonTranscoderTest {
+    private final TaskJsonTranscoder transcoder = new TaskJsonTranscoder();
+    // Configured like the mapper Spring Boot builds: ISO-8601 strings for dates.
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private RawBsonDocument raw(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+
+    private String transcodeAll(RawBsonDocument... documents) {
+        return DataBufferUtils.join(transcoder.transcodeArray(Flux.just(documents), bufferFactory))
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .block();
+    }
+
+    @Test
+    @Description("Test that a stored Task document is written exactly like Jackson writes the mapped Task.")
+    void testTranscodeMatchesJacksonOutput() throws Exception {
+        Task task = Task.builder()
+                .id(new ObjectId("685724022e21a9baae11f00c"))
+                .title("Raw Task Title")
+                .description("The description of a raw Task")
+                .completed(true)
+                .userId(new ObjectId("685724022e21a9baae11f00f"))
+                .completedAt(Instant.parse("2025-06-21T09:30:15.250Z"))
+                .build();
+        Document stored = new Document("_id", task.getId())
+                .append("title", task.getTitle())
+                .append("description", task.getDescription())
+                .append("completed", task.isCompleted())
+                .append("userId", task.getUserId())
+                .append("completedAt", Date.from(task.getCompletedAt()))
+                .append("_class", Task.class.getName());
+
+        JsonNode actual = objectMapper.readTree(transcodeAll(raw(stored)));
+
+        assertThat(actual.size()).isEqualTo(1);
+        assertThat(actual.get(0)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(task)));
+    }
+
+    @Test
+    @Description("Test that fields missing from the stored document are written with their Task defaults.")
+    void testTranscodeFillsMissingFields() throws Exception {
+        ObjectId id = new ObjectId();
+        Task task = Task.builder().id(id).title("Only A Title").build();
+
+        JsonNode actual = objectMapper.readTree(transcodeAll(raw(new Document("_id", id).append("title", "Only A Title"))));
+
+        assertThat(actual.get(0)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(task)));
+    }
+
+    @Test
+    @Description("Test that several documents form one JSON array and no documents form an empty one.")
+    void testTranscodeArrayFraming() throws Exception {
+        JsonNode actual = objectMapper.readTree(transcodeAll(
+                raw(new Document("_id", new ObjectId()).append("title", "One")),
+                raw(new Document("_id", new ObjectId()).append("title", "Two"))));
+
+        assertThat(actual.isArray()).isTrue();
+        assertThat(actual.size()).isEqualTo(2);
+        assertThat(transcodeAll()).isEqualTo("[]");
+    }
+}
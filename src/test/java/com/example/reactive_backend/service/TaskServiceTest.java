@@ -1,9 +1,12 @@
 package com.example.reactive_backend.service;
 
+import com.example.reactive_backend.cache.TaskCountCache;
+import com.example.reactive_backend.cache.TaskResponseCache;
 import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
 import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
 import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
 import com.example.reactive_backend.errorhandling.exception.NotFoundException;
+import com.example.reactive_backend.existence.ExistenceFilter;
 import com.example.reactive_backend.model.Task;
 import com.example.reactive_backend.repository.TaskRepository;
 import org.bson.types.ObjectId;
@@ -12,10 +15,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -27,6 +32,18 @@ public class TaskServiceTest {
     @Mock
     private TaskRepository repository;
 
+    @Mock
+    private TaskResponseCache taskResponseCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ExistenceFilter existenceFilter;
+
+    @Mock
+    private TaskCountCache taskCountCache;
+
     @InjectMocks
     private TaskService service;
 
@@ -148,6 +165,19 @@ public class TaskServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testCreateOneTaskStampsCompletedAt() {
+        Instant supplied = Instant.parse("2020-01-01T00:00:00Z");
+        Task task = Task.builder().title("Create One Task Title").description("The test description so that we can test createOneTask endpoint functionality").completed(true).completedAt(supplied).build();
+
+        when(repository.createOneTask(task)).thenReturn(Mono.just(task));
+
+        Instant before = Instant.now();
+        StepVerifier.create(service.createOneTask(task))
+                .consumeNextWith(actual -> assertThat(actual.getCompletedAt()).isAfterOrEqualTo(before))
+                .verifyComplete();
+    }
+
     @Test
     void testCreateOneTaskWithUnhappyPath() {
         Task task = Task.builder().title("Create One Task Title").description("The test description so that we can test createOneTask endpoint functionality").completed(true).build();
@@ -211,6 +241,7 @@ public class TaskServiceTest {
 
         Task task = Task.builder().id(id).title("Update One Task Title").description("The test description so that we can test updateOneTask endpoint functionality").completed(true).build();
 
+        when(repository.getOneTask(id)).thenReturn(Mono.just(task));
         when(repository.updateOneTask(id, task)).thenReturn(Mono.just(task));
 
         Mono<Task> res = service.updateOneTask(id, task);
@@ -232,6 +263,7 @@ public class TaskServiceTest {
 
         Task task = Task.builder().id(id).title("Update One Task Title").description("The test description so that we can test updateOneTask endpoint functionality").completed(true).build();
 
+        when(repository.getOneTask(id)).thenReturn(Mono.empty());
         when(repository.updateOneTask(id, task)).thenReturn(Mono.empty());
 
         Mono<Task> res = service.updateOneTask(id, task);
@@ -248,6 +280,7 @@ public class TaskServiceTest {
 
         Task task = Task.builder().id(id).title("Update One Task Title").description("The test description so that we can test updateOneTask endpoint functionality").completed(true).build();
 
+        when(repository.getOneTask(id)).thenReturn(Mono.just(task));
         when(repository.updateOneTask(id, task)).thenReturn(Mono.error(new CouldNotUpdateException("Sorry man, couldn't insert into the DB")));
 
         Mono<Task> res = service.updateOneTask(id, task);
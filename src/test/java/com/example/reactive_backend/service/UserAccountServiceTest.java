@@ -0,0 +1,165 @@
+package com.example.reactive_backend.service;
+
+import com.example.reactive_backend.cache.MissingEmailCache;
+import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
+import com.example.reactive_backend.errorhandling.exception.UnauthorizedException;
+import com.example.reactive_backend.existence.ExistenceFilter;
+import com.example.reactive_backend.model.Task;
+import com.example.reactive_backend.model.UserAccount;
+import com.example.reactive_backend.repository.InMemoryTaskRepository;
+import com.example.reactive_backend.repository.TaskRepository;
+import com.example.reactive_backend.repository.UserAccountRepository;
+import com.example.reactive_backend.security.PasswordHasher;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.Description;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserAccountServiceTest {
+    @Mock
+    private UserAccountRepository repository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private MissingEmailCache missingEmailCache;
+
+    @Mock
+    private ExistenceFilter existenceFilter;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private UserAccountService service;
+
+    private UserAccount account() {
+        return UserAccount.builder().firstName("First").lastName("Last").email(" New.User@Example.com ").password("secret").build();
+    }
+
+    private List<Task> starters() {
+        return List.of(Task.builder().title("First Starter Task").build(), Task.builder().title("Second Starter Task").build());
+    }
+
+    @Test
+    @Description("Test that the account is written with the ids of its Tasks and every Task with the id of the account.")
+    @SuppressWarnings("unchecked")
+    void testCreateUserAccountWithTasksLinksBothSides() {
+        ArgumentCaptor<UserAccount> insertedAccount = ArgumentCaptor.forClass(UserAccount.class);
+        ArgumentCaptor<ArrayList<Task>> insertedTasks = ArgumentCaptor.forClass(ArrayList.class);
+        when(passwordHasher.hash("secret")).thenReturn(Mono.just("hashed"));
+        when(repository.createNewUserAccount(insertedAccount.capture())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(taskService.createTasks(insertedTasks.capture())).thenAnswer(inv -> Flux.fromIterable(inv.<ArrayList<Task>>getArgument(0)));
+
+        StepVerifier.create(service.createUserAccountWithTasks(account(), starters()))
+                .consumeNextWith(dto -> {
+                    assertThat(dto.getId()).isEqualTo(insertedAccount.getValue().getId());
+                    assertThat(dto.getEmail()).isEqualTo("new.user@example.com");
+                    assertThat(dto.getTasks()).hasSize(2).allSatisfy(task -> assertThat(task.getUserId()).isEqualTo(dto.getId()));
+                    assertThat(insertedAccount.getValue().getTaskIds())
+                            .containsExactlyElementsOf(insertedTasks.getValue().stream().map(Task::getId).toList());
+                    assertThat(insertedAccount.getValue().getPassword()).isEqualTo("hashed");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @Description("Test that the account and any inserted Tasks are removed again when the Task insert fails.")
+    void testCreateUserAccountWithTasksRollsBackOnTaskFailure() {
+        ArgumentCaptor<UserAccount> insertedAccount = ArgumentCaptor.forClass(UserAccount.class);
+        when(passwordHasher.hash("secret")).thenReturn(Mono.just("hashed"));
+        when(repository.createNewUserAccount(insertedAccount.capture())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(taskService.createTasks(any())).thenReturn(Flux.error(new CouldNotInsertException("Could not insert Documents into 'Tasks' Collection.")));
+        when(taskRepository.deleteTasks(any(), any())).thenReturn(Mono.just(0L));
+        when(repository.deleteUserAccount(any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.createUserAccountWithTasks(account(), starters()))
+                .expectError(CouldNotInsertException.class)
+                .verify();
+
+        verify(taskRepository).deleteTasks(insertedAccount.getValue().getId(), insertedAccount.getValue().getTaskIds());
+        verify(repository).deleteUserAccount(insertedAccount.getValue().getId());
+    }
+
+    @Test
+    @Description("Test that a starter Task carrying another user's Task id gets a fresh id and the rollback leaves the other Task alone.")
+    void testCreateUserAccountWithTasksIgnoresSuppliedIds() {
+        InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+        Task othersTask = tasks.createOneTask(Task.builder().title("Someone Else's Task").userId(new ObjectId()).build()).block();
+        UserAccountService inMemoryService = new UserAccountService(repository, tasks, passwordHasher, missingEmailCache, existenceFilter, taskService);
+        ArgumentCaptor<UserAccount> insertedAccount = ArgumentCaptor.forClass(UserAccount.class);
+        when(passwordHasher.hash("secret")).thenReturn(Mono.just("hashed"));
+        when(repository.createNewUserAccount(insertedAccount.capture())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(taskService.createTasks(any())).thenReturn(Flux.error(new CouldNotInsertException("Could not insert Documents into 'Tasks' Collection.")));
+        when(repository.deleteUserAccount(any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(inMemoryService.createUserAccountWithTasks(account(), List.of(othersTask.toBuilder().title("Hijacked Task").build())))
+                .expectError(CouldNotInsertException.class)
+                .verify();
+
+        assertThat(insertedAccount.getValue().getTaskIds()).hasSize(1).doesNotContain(othersTask.getId());
+        StepVerifier.create(tasks.getOneTask(othersTask.getId())).expectNext(othersTask).verifyComplete();
+    }
+
+    @Test
+    @Description("Test that no Tasks are inserted when the account itself could not be created.")
+    void testCreateUserAccountWithTasksSkipsTasksWhenAccountFails() {
+        when(passwordHasher.hash("secret")).thenReturn(Mono.just("hashed"));
+        when(repository.createNewUserAccount(any())).thenReturn(Mono.error(new CouldNotInsertException("Could not insert User Account.")));
+
+        StepVerifier.create(service.createUserAccountWithTasks(account(), starters()))
+                .expectError(CouldNotInsertException.class)
+                .verify();
+
+        verify(taskService, never()).createTasks(any());
+        verify(repository, never()).deleteUserAccount(any());
+    }
+
+    @Test
+    @Description("Test that a login for an unknown email still runs a BCrypt check before failing.")
+    void testLoginForMissingAccountRunsDummyCheck() {
+        when(missingEmailCache.lookup(any(), any())).thenReturn(Mono.empty());
+        when(passwordHasher.matchesNothing("secret")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.login("nobody@example.com", "secret"))
+                .expectError(UnauthorizedException.class)
+                .verify();
+
+        verify(passwordHasher).matchesNothing("secret");
+    }
+
+    @Test
+    @Description("Test that an empty password still runs a BCrypt check, not against the stored hash, before failing.")
+    void testEmptyPasswordRunsDummyCheck() {
+        ObjectId id = new ObjectId();
+        when(repository.retrieveUserAccount(id)).thenReturn(Mono.just(account().toBuilder().id(id).password("hashed").build()));
+        when(passwordHasher.matchesNothing("")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.verifyPassword(id, ""))
+                .expectError(UnauthorizedException.class)
+                .verify();
+
+        verify(passwordHasher, never()).matches(any(), any());
+    }
+}
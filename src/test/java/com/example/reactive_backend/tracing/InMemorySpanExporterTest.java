@@ -0,0 +1,51 @@
+package com.example.reactive_backend.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemorySpanExporterTest {
+
+    private InMemorySpanExporter exporter(int maxSpans) {
+        TracingProperties properties = new TracingProperties();
+        properties.getInMemory().setMaxSpans(maxSpans);
+        return new InMemorySpanExporter(properties);
+    }
+
+    @Test
+    @Description("Test that finished spans are kept per trace with their parent links and root spans are listed as traces.")
+    void testKeepsTracesWithParents() {
+        InMemorySpanExporter exporter = exporter(100);
+        Tracer tracer = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build().get("test");
+
+        Span root = tracer.spanBuilder("http get /api/user").startSpan();
+        try(Scope scope = root.makeCurrent()) {
+            tracer.spanBuilder("service.UserAccountService.retrieveUserAccount").startSpan().end();
+        }
+        root.end();
+
+        assertThat(exporter.recentTraces(10, 0)).singleElement()
+                .satisfies(trace -> assertThat(trace.name()).isEqualTo("http get /api/user"));
+        assertThat(exporter.trace(root.getSpanContext().getTraceId()))
+                .extracting(InMemorySpanExporter.SpanView::parentSpanId)
+                .containsExactly(null, root.getSpanContext().getSpanId());
+    }
+
+    @Test
+    @Description("Test that only the most recent spans are kept once the limit is reached.")
+    void testDropsOldestBeyondLimit() {
+        InMemorySpanExporter exporter = exporter(3);
+        Tracer tracer = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build().get("test");
+
+        for(int i = 0; i < 5; i++) tracer.spanBuilder("span-" + i).startSpan().end();
+
+        assertThat(exporter.recentTraces(10, 0)).extracting(InMemorySpanExporter.SpanView::name)
+                .containsExactlyInAnyOrder("span-2", "span-3", "span-4");
+    }
+}
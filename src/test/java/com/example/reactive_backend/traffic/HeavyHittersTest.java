@@ -0,0 +1,60 @@
+package com.example.reactive_backend.traffic;
+
+import com.example.reactive_backend.MutableClock;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Description;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HeavyHittersTest {
+    private final HeavyHittersProperties properties = new HeavyHittersProperties();
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-21T09:30:00Z"));
+
+    @Test
+    @Description("Test that the most requested ids are listed first among a long tail of single reads.")
+    void testFindsHeavyHitters() {
+        properties.setTopK(3);
+        HeavyHitters heavyHitters = new HeavyHitters(properties, clock);
+        ObjectId hottest = new ObjectId();
+        ObjectId second = new ObjectId();
+
+        for(int i = 0; i < 5_000; i++) {
+            heavyHitters.record(HeavyHitters.Kind.USER_ACCOUNT, new ObjectId());
+            if(i % 5 == 0) heavyHitters.record(HeavyHitters.Kind.TASK, hottest);
+            if(i % 10 == 0) heavyHitters.record(HeavyHitters.Kind.TASK, second);
+        }
+
+        List<HeavyHitters.HotKey> top = heavyHitters.top(2);
+
+        assertThat(top).extracting(HeavyHitters.HotKey::id).containsExactly(hottest.toHexString(), second.toHexString());
+        assertThat(top.get(0).estimatedRequests()).isBetween(1_000L, 1_100L);
+        assertThat(top.get(0).requestsPerSecond()).isEqualTo(top.get(0).estimatedRequests() / 60.0);
+    }
+
+    @Test
+    @Description("Test that counts fade over the following window and are gone after it.")
+    void testCountsDecayAcrossWindows() {
+        HeavyHitters heavyHitters = new HeavyHitters(properties, clock);
+        ObjectId id = new ObjectId();
+        for(int i = 0; i < 100; i++) heavyHitters.record(HeavyHitters.Kind.TASK, id);
+
+        clock.advance(properties.getWindow().plus(properties.getWindow().dividedBy(2)));
+        assertThat(heavyHitters.top(1).get(0).estimatedRequests()).isEqualTo(50);
+
+        clock.advance(properties.getWindow());
+        assertThat(heavyHitters.top(1)).isEmpty();
+    }
+
+    @Test
+    @Description("Test that a negative limit lists nothing instead of failing.")
+    void testNegativeLimitListsNothing() {
+        HeavyHitters heavyHitters = new HeavyHitters(properties, clock);
+        heavyHitters.record(HeavyHitters.Kind.TASK, new ObjectId());
+
+        assertThat(heavyHitters.top(-1)).isEmpty();
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.reactive_backend;
 
+import com.example.reactive_backend.cache.TaskCountCache;
+import com.example.reactive_backend.cache.TaskResponseCache;
 import com.example.reactive_backend.controller.TaskController;
+import com.example.reactive_backend.existence.ExistenceFilter;
+import com.example.reactive_backend.repository.MongoTaskRepository;
+import com.example.reactive_backend.repository.TaskQueryPlanner;
 import com.example.reactive_backend.repository.TaskRepository;
+import com.example.reactive_backend.service.TaskPassthroughService;
 import com.example.reactive_backend.service.TaskService;
+import com.example.reactive_backend.traffic.HeavyHitters;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
@@ -11,18 +19,20 @@ import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 @Configuration
 public class IntegrationTestConfig {
     @Bean
-    public TaskService taskService(TaskRepository taskRepository) {
-        return new TaskService(taskRepository);
+    public TaskService taskService(TaskRepository taskRepository, TaskResponseCache taskResponseCache, ApplicationEventPublisher eventPublisher,
+                                   ExistenceFilter existenceFilter, TaskQueryPlanner taskQueryPlanner, TaskCountCache taskCountCache) {
+        return new TaskService(taskRepository, taskResponseCache, eventPublisher, existenceFilter, taskQueryPlanner, taskCountCache);
     }
 
     @Bean
-    public TaskController taskController(TaskService taskService) {
-        return new TaskController(taskService);
+    public TaskController taskController(TaskService taskService, TaskResponseCache taskResponseCache, TaskPassthroughService taskPassthroughService,
+                                         HeavyHitters heavyHitters) {
+        return new TaskController(taskService, taskResponseCache, taskPassthroughService, heavyHitters);
     }
 
     @Bean
     public TaskRepository taskRepository(ReactiveMongoTemplate mongoTemplate) {
-        return new TaskRepository(mongoTemplate);
+        return new MongoTaskRepository(mongoTemplate);
     }
 
     @Bean
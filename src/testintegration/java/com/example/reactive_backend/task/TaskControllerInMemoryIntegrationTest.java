@@ -0,0 +1,88 @@
+package com.example.reactive_backend.task;
+
+import com.example.reactive_backend.ReactiveBackendIntegrationTest;
+import com.example.reactive_backend.model.Task;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Task endpoints against the in-memory storage adapters, so whole request flows are checked against
+ * real repository behaviour. Failure paths stay in {@link TaskControllerIntegrationTest}, where the mocked Mongo
+ * template can be made to fail.
+ */
+@TestPropertySource(properties = "app.storage.engine=memory")
+public class TaskControllerInMemoryIntegrationTest extends ReactiveBackendIntegrationTest {
+
+    @Test
+    void testTaskLifecycle() {
+        ObjectId userId = new ObjectId();
+        Task task = Task.builder().title("In-Memory Integration Task").description("Created, read, updated and deleted through the API.").userId(userId).build();
+
+        Task created = webTestClient.post()
+                .uri("/api/task")
+                .body(BodyInserters.fromValue(task))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(created.getId()).isNotNull();
+
+        webTestClient.get()
+                .uri("/api/task?id=%s".formatted(created.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .isEqualTo(created);
+
+        Task updated = webTestClient.put()
+                .uri("/api/task?id=%s".formatted(created.getId()))
+                .body(BodyInserters.fromValue(created.toBuilder().completed(true).build()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(updated.isCompleted()).isTrue();
+        assertThat(updated.getCompletedAt()).isNotNull();
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+
+        webTestClient.delete()
+                .uri("/api/task?id=%s".formatted(created.getId()))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get()
+                .uri("/api/task?id=%s".formatted(created.getId()))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testGetTasksFiltersByUser() {
+        ObjectId userId = new ObjectId();
+        List<Task> tasks = List.of(
+                Task.builder().title("Owned Task B").userId(userId).build(),
+                Task.builder().title("Owned Task A").userId(userId).build(),
+                Task.builder().title("Someone Else's Task").userId(new ObjectId()).build());
+
+        webTestClient.post()
+                .uri("/api/tasks")
+                .body(BodyInserters.fromValue(tasks))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get()
+                .uri("/api/tasks?userId=%s&sort=title".formatted(userId))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Task.class)
+                .value(owned -> assertThat(owned).extracting(Task::getTitle).containsExactly("Owned Task A", "Owned Task B"));
+    }
+}
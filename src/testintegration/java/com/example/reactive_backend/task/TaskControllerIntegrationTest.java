@@ -2,7 +2,6 @@ package com.example.reactive_backend.task;
 
 import com.example.reactive_backend.IntegrationTestConfig;
 import com.example.reactive_backend.ReactiveBackendIntegrationTest;
-import com.example.reactive_backend.errorhandling.ErrorAdviceDto;
 import com.example.reactive_backend.errorhandling.exception.CouldNotDeleteException;
 import com.example.reactive_backend.errorhandling.exception.CouldNotInsertException;
 import com.example.reactive_backend.errorhandling.exception.CouldNotUpdateException;
@@ -16,6 +15,7 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.web.reactive.function.BodyInserters;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -57,11 +57,11 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .uri("/api/tasks")
                 .exchange()
                 .expectStatus().is5xxServerError()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/tasks");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/tasks");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
                 });
     }
 
@@ -85,12 +85,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .uri("/api/task?id=%s".formatted(badId))
                 .exchange()
                 .expectStatus().isBadRequest()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.GET.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.GET.name());
                 });
     }
 
@@ -102,12 +102,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .uri("/api/task?id=%s".formatted(id))
                 .exchange()
                 .expectStatus().isNotFound()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.GET.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.GET.name());
                 });
     }
 
@@ -119,12 +119,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .uri("/api/task?id=%s".formatted(id))
                 .exchange()
                 .expectStatus().is5xxServerError()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.GET.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.GET.name());
                 });
     }
 
@@ -154,12 +154,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .body(BodyInserters.fromValue(task))
                 .exchange()
                 .expectStatus().is5xxServerError()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.POST.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.POST.name());
                 });
     }
 
@@ -191,12 +191,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .body(BodyInserters.fromValue(taskList))
                 .exchange()
                 .expectStatus().is5xxServerError()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.POST.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.POST.name());
                 });
     }
 
@@ -204,6 +204,8 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
     void testUpdateOneTaskEndpoint() {
         Task task = Task.builder().id(new ObjectId(id)).title("Integration Test Task").description("The description for the Document being returned.").completed(true).build();
 
+        // The update reads the current owner first, so moved Tasks are announced to their previous owner too.
+        when(mongoTemplate.findById(new ObjectId(id), Task.class)).thenReturn(Mono.just(task));
         when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Task.class))).thenReturn(Mono.just(task));
 
         webTestClient.put()
@@ -224,12 +226,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .body(BodyInserters.fromValue(task))
                 .exchange()
                 .expectStatus().isBadRequest()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.PUT.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.PUT.name());
                 });
     }
 
@@ -243,6 +245,7 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .set("title", task.getTitle())
                 .set("completed", task.isCompleted());
 
+        when(mongoTemplate.findById(new ObjectId(id), Task.class)).thenReturn(Mono.just(task));
         when(mongoTemplate.findAndModify(eq(query), eq(update), eq(options), eq(Task.class))).thenReturn(Mono.empty());
 
         webTestClient.put()
@@ -250,12 +253,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .body(BodyInserters.fromValue(task))
                 .exchange()
                 .expectStatus().is5xxServerError()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.PUT.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.PUT.name());
                 });
     }
 
@@ -263,6 +266,7 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
     void testUpdateOneTaskEndpointCouldNotUpdateException() {
         Task task = Task.builder().id(new ObjectId(id)).title("Integration Test Task").description("The description for the Document being returned.").completed(true).build();
 
+        when(mongoTemplate.findById(new ObjectId(id), Task.class)).thenReturn(Mono.just(task));
         when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Task.class))).thenReturn(Mono.error(new CouldNotUpdateException("Could not update.")));
 
         webTestClient.put()
@@ -270,12 +274,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .body(BodyInserters.fromValue(task))
                 .exchange()
                 .expectStatus().is5xxServerError()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.PUT.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.PUT.name());
                 });
     }
 
@@ -307,12 +311,12 @@ public class TaskControllerIntegrationTest extends ReactiveBackendIntegrationTes
                 .uri("/api/task?id=%s".formatted(badId))
                 .exchange()
                 .expectStatus().isBadRequest()
-                .expectBody(ErrorAdviceDto.class)
+                .expectBody(ProblemDetail.class)
                 .consumeWith(actual -> {
-                    assertThat(actual.getResponseBody().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
-                    assertThat(actual.getResponseBody().getPath()).isEqualTo("/api/task");
-                    assertThat(actual.getResponseBody().getMessage()).isNotEmpty();
-                    assertThat(actual.getResponseBody().getHttpMethod()).isEqualTo(HttpMethod.DELETE.name());
+                    assertThat(actual.getResponseBody().getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+                    assertThat(actual.getResponseBody().getInstance().getPath()).isEqualTo("/api/task");
+                    assertThat(actual.getResponseBody().getDetail()).isNotEmpty();
+                    assertThat(actual.getResponseBody().getProperties().get("httpMethod")).isEqualTo(HttpMethod.DELETE.name());
                 });
     }
 }